@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.cdi.EventFilter;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class AnnotatedEventFilterTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test classes
+            .addClasses(EvenNumberFilter.class, AnnotatedEventFilterRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    // Shares the endpoint of the annotated injection point
+    @Inject
+    private CdiEventEndpoint<Integer> endpoint;
+
+    @Inject
+    private MockEndpoint evens;
+
+    @Test
+    public void setEventFilterFromAnnotation() {
+        assertThat("Event filter is incorrect!", endpoint.getFilter(), is(instanceOf(EvenNumberFilter.class)));
+    }
+
+    @Test
+    public void discardFilteredOutEvents(Event<Integer> event) throws InterruptedException {
+        evens.expectedMessageCount(2);
+        evens.expectedBodiesReceived(2, 4);
+
+        event.fire(1);
+        event.fire(2);
+        event.fire(3);
+        event.fire(4);
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, evens);
+    }
+}
+
+@ApplicationScoped
+class EvenNumberFilter implements Predicate<Integer> {
+
+    @Override
+    public boolean test(Integer number) {
+        return number % 2 == 0;
+    }
+}
+
+class AnnotatedEventFilterRoute extends RouteBuilder {
+
+    @Inject
+    @EventFilter(EvenNumberFilter.class)
+    private CdiEventEndpoint<Integer> integerEventEndpoint;
+
+    @Override
+    public void configure() {
+        from(integerEventEndpoint).to("mock:evens");
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.cdi.CdiEventOverflowPolicy;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+
+@RunWith(Arquillian.class)
+public class AsyncEventEndpointTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(AsyncEventRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private MockEndpoint consumed;
+
+    @Test
+    public void consumeEventsAsynchronously(Event<String> event) throws InterruptedException {
+        String thread = Thread.currentThread().getName();
+
+        consumed.expectedMessageCount(3);
+        consumed.expectedBodiesReceivedInAnyOrder("foo", "bar", "baz");
+        consumed.allMessages().predicate(exchange -> !thread.equals(Thread.currentThread().getName()));
+
+        event.fire("foo");
+        event.fire("bar");
+        event.fire("baz");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, consumed);
+    }
+}
+
+class AsyncEventRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<String> stringEventEndpoint;
+
+    @Override
+    public void configure() {
+        stringEventEndpoint.setConcurrentConsumers(2);
+        stringEventEndpoint.setQueueSize(10);
+        stringEventEndpoint.setOverflowPolicy(CdiEventOverflowPolicy.Fail);
+
+        from(stringEventEndpoint).to("mock:consumed");
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.cdi.Uri;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.ObservesAsync;
+import javax.inject.Inject;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(Arquillian.class)
+public class AsyncFireEventEndpointTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test classes
+            .addClasses(AsyncFireEventRoute.class, AsyncEventObserver.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    @Uri("direct:fire")
+    private ProducerTemplate fire;
+
+    @Inject
+    private AsyncEventObserver observer;
+
+    @Test
+    public void completeExchangeOnceObserversNotified() {
+        fire.sendBody("foo");
+
+        // The exchange completes only once the asynchronous observer has completed
+        assertThat("Asynchronous observer not notified!", observer.getEvents(), contains("foo"));
+    }
+
+    @Test
+    public void failExchangeOnObserverException() {
+        try {
+            fire.sendBody("failure");
+        } catch (Exception exception) {
+            assertThat("Exception is incorrect!",
+                exception, is(instanceOf(CamelExecutionException.class)));
+            assertThat("Exception cause is incorrect!",
+                exception.getCause(), is(instanceOf(CompletionException.class)));
+            assertThat("Exception message is incorrect!",
+                exception.getCause().getCause().getMessage(), is(equalTo("failure message!")));
+            return;
+        }
+        fail("No exception thrown!");
+    }
+}
+
+@ApplicationScoped
+class AsyncEventObserver {
+
+    private final Queue<String> events = new ConcurrentLinkedQueue<>();
+
+    void observe(@ObservesAsync String event) throws InterruptedException {
+        if ("failure".equals(event))
+            throw new IllegalStateException("failure message!");
+        // Let the firing thread wait for the notification
+        TimeUnit.MILLISECONDS.sleep(100);
+        events.add(event);
+    }
+
+    Queue<String> getEvents() {
+        return events;
+    }
+}
+
+class AsyncFireEventRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<String> stringEventEndpoint;
+
+    @Override
+    public void configure() {
+        stringEventEndpoint.setFireAsync(true);
+
+        from("direct:fire").to(stringEventEndpoint);
+    }
+}
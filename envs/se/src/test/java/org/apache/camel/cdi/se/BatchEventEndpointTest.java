@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+
+@RunWith(Arquillian.class)
+public class BatchEventEndpointTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(BatchEventRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private MockEndpoint consumed;
+
+    @Before
+    public void resetMock() {
+        consumed.reset();
+    }
+
+    @Test
+    public void sendBatchOnSize(Event<Integer> event) throws InterruptedException {
+        consumed.expectedMessageCount(1);
+        consumed.expectedBodiesReceived(asList(1, 2, 3));
+
+        event.fire(1);
+        event.fire(2);
+        event.fire(3);
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, consumed);
+    }
+
+    @Test
+    public void sendBatchOnTimeout(Event<Integer> event) throws InterruptedException {
+        consumed.expectedMessageCount(1);
+        consumed.expectedBodiesReceived(singletonList(4));
+
+        event.fire(4);
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, consumed);
+    }
+}
+
+class BatchEventRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<Integer> integerEventEndpoint;
+
+    @Override
+    public void configure() {
+        integerEventEndpoint.setBatchSize(3);
+        integerEventEndpoint.setBatchTimeout(100L);
+
+        from(integerEventEndpoint).to("mock:consumed");
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.cdi.Uri;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_FIRED_COUNT;
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+
+@RunWith(Arquillian.class)
+public class BulkEventEndpointTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(BulkEventRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private MockEndpoint consumed;
+
+    @Inject
+    private MockEndpoint fired;
+
+    @Inject
+    @Uri("direct:bulk")
+    private ProducerTemplate bulk;
+
+    @Test
+    public void fireEventsInBulk() throws InterruptedException {
+        consumed.expectedBodiesReceived("foo", "bar", "baz", "qux", "quux", "corge");
+        fired.expectedHeaderValuesReceivedInAnyOrder(EVENT_FIRED_COUNT, 2, 2, 2);
+
+        bulk.sendBody(Arrays.asList("foo", "bar"));
+        bulk.sendBody(new String[] {"baz", "qux"});
+        bulk.sendBody(Stream.of("quux", "corge"));
+
+        assertIsSatisfied(2L, SECONDS, consumed, fired);
+    }
+}
+
+class BulkEventRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<String> stringEventEndpoint;
+
+    @Override
+    public void configure() {
+        stringEventEndpoint.setBulk(true);
+
+        from("direct:bulk").to(stringEventEndpoint).to("mock:fired");
+
+        from(stringEventEndpoint).to("mock:consumed");
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.se.bean.SimpleCamelRoute;
+import org.apache.camel.management.event.ExchangeCompletedEvent;
+import org.apache.camel.management.event.RouteStartedEvent;
+import org.apache.camel.spi.EventNotifier;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.event.Observes;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class CamelEventNotifierEnablementTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(SimpleCamelRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    private void onRouteStartedEvent(@Observes RouteStartedEvent event) {
+    }
+
+    private void onExchangeCompletedEvent(@Observes ExchangeCompletedEvent event) {
+    }
+
+    @Test
+    public void enableObservedEventsOnly(CamelContext context) {
+        assertThat("Event notifiers are incorrect!", context.getManagementStrategy().getEventNotifiers(), hasSize(1));
+        EventNotifier notifier = context.getManagementStrategy().getEventNotifiers().get(0);
+
+        assertThat("Route events are ignored!", notifier.isIgnoreRouteEvents(), is(false));
+        assertThat("Exchange completed events are ignored!", notifier.isIgnoreExchangeCompletedEvent(), is(false));
+        assertThat("Camel context events are not ignored!", notifier.isIgnoreCamelContextEvents(), is(true));
+        assertThat("Exchange created events are not ignored!", notifier.isIgnoreExchangeCreatedEvent(), is(true));
+        assertThat("Exchange sent events are not ignored!", notifier.isIgnoreExchangeSentEvents(), is(true));
+    }
+}
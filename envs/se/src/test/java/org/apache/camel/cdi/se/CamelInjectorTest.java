@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class CamelInjectorTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(InjectedApplicationScopedBean.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Test
+    public void instantiateBean(CamelContext context) {
+        InjectedApplicationScopedBean bean = context.getInjector().newInstance(InjectedApplicationScopedBean.class);
+
+        assertThat("Bean instance is incorrect!", bean.getValue(), is("bean"));
+        assertThat("Bean instance is incorrect!", context.getInjector().newInstance(InjectedApplicationScopedBean.class).getValue(), is("bean"));
+    }
+
+    @Test
+    public void instantiateNonBean(CamelContext context) {
+        ArrayList<?> instance = context.getInjector().newInstance(ArrayList.class);
+
+        assertThat("Instance is incorrect!", instance, is(instanceOf(ArrayList.class)));
+        assertThat("Instance is reused!", context.getInjector().newInstance(ArrayList.class), is(not(sameInstance(instance))));
+    }
+}
+
+@ApplicationScoped
+class InjectedApplicationScopedBean {
+
+    String getValue() {
+        return "bean";
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.management.event.AbstractRouteEvent;
+import org.apache.camel.management.event.RouteAddedEvent;
+import org.apache.camel.management.event.RouteRemovedEvent;
+import org.apache.camel.management.event.RouteStartedEvent;
+import org.apache.camel.management.event.RouteStoppedEvent;
+import org.apache.camel.spi.EventNotifier;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class CamelRouteEventQualifiersTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(DynamicRouteEventObserver.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private CamelContext context;
+
+    @Inject
+    private DynamicRouteEventObserver observer;
+
+    @Test
+    public void evictRouteQualifiersOnRouteRemoval() throws Exception {
+        Map<?, ?> qualifiers = routeQualifiers();
+
+        context.addRoutes(new DynamicRoute());
+        assertThat("Route qualifiers are not cached!", qualifiers, hasKey("dynamic"));
+
+        context.stopRoute("dynamic");
+        context.removeRoute("dynamic");
+        assertThat("Route qualifiers are not evicted!", qualifiers, not(hasKey("dynamic")));
+
+        // The events of a route added again with the same id are still fired with its qualifiers
+        context.addRoutes(new DynamicRoute());
+        context.stopRoute("dynamic");
+
+        assertThat("Events fired are incorrect!", observer.getEvents(),
+            contains(
+                instanceOf(RouteAddedEvent.class),
+                instanceOf(RouteStartedEvent.class),
+                instanceOf(RouteStoppedEvent.class),
+                instanceOf(RouteRemovedEvent.class),
+                instanceOf(RouteAddedEvent.class),
+                instanceOf(RouteStartedEvent.class),
+                instanceOf(RouteStoppedEvent.class)
+            )
+        );
+    }
+
+    private Map<?, ?> routeQualifiers() throws ReflectiveOperationException {
+        for (EventNotifier notifier : context.getManagementStrategy().getEventNotifiers()) {
+            if (notifier.getClass().getSimpleName().equals("CdiEventNotifier")) {
+                Field field = notifier.getClass().getDeclaredField("routeQualifiers");
+                field.setAccessible(true);
+                return (Map<?, ?>) field.get(notifier);
+            }
+        }
+        throw new IllegalStateException("No CDI event notifier for Camel context [" + context.getName() + "]");
+    }
+
+    private static class DynamicRoute extends RouteBuilder {
+
+        @Override
+        public void configure() {
+            from("direct:dynamic").routeId("dynamic").to("log:dynamic");
+        }
+    }
+}
+
+@ApplicationScoped
+class DynamicRouteEventObserver {
+
+    private final List<AbstractRouteEvent> events = new CopyOnWriteArrayList<>();
+
+    void observe(@Observes @Named("dynamic") AbstractRouteEvent event) {
+        events.add(event);
+    }
+
+    List<AbstractRouteEvent> getEvents() {
+        return events;
+    }
+}
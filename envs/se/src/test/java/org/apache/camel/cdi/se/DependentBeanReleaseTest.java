@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.cdi.CdiCamelConfiguration;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Observes;
+import javax.inject.Named;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class DependentBeanReleaseTest {
+
+    private static final int LOOKUPS = 100;
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(ReleasedDependentBean.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    static void configuration(@Observes CdiCamelConfiguration configuration) {
+        configuration.cacheDependentBeans(true);
+    }
+
+    @Test
+    public void releaseDependentBeansOnContextStop(CamelContext context) throws Exception {
+        for (int i = 0; i < LOOKUPS; i++) {
+            context.getRegistry().lookupByName("released");
+            context.getRegistry().findByType(ReleasedDependentBean.class);
+        }
+
+        assertThat("Dependent bean instances not cached!", ReleasedDependentBean.CREATED.get(), is(equalTo(1)));
+        assertThat("Dependent beans destroyed before context stop!", ReleasedDependentBean.DESTROYED.get(), is(equalTo(0)));
+
+        context.stop();
+
+        assertThat("Dependent beans not destroyed on context stop!", ReleasedDependentBean.DESTROYED.get(), is(equalTo(1)));
+    }
+}
+
+@Dependent
+@Named("released")
+class ReleasedDependentBean {
+
+    static final AtomicInteger CREATED = new AtomicInteger();
+
+    static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    @PostConstruct
+    void create() {
+        CREATED.incrementAndGet();
+    }
+
+    @PreDestroy
+    void destroy() {
+        DESTROYED.incrementAndGet();
+    }
+}
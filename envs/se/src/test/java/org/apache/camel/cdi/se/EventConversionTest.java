@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.cdi.Uri;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(Arquillian.class)
+public class EventConversionTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test classes
+            .addClasses(EventConversionRoute.class, IntegerEventObserver.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    @Uri("direct:fire")
+    private ProducerTemplate fire;
+
+    @Inject
+    private IntegerEventObserver observer;
+
+    @Before
+    public void resetObserver() {
+        observer.getEvents().clear();
+    }
+
+    @Test
+    public void convertBodyToEventType() {
+        fire.sendBody("42");
+
+        assertThat("Converted event not observed!", observer.getEvents(), contains(42));
+    }
+
+    @Test
+    public void failExchangeWithoutConverter() {
+        try {
+            fire.sendBody(new Unconvertible());
+        } catch (Exception exception) {
+            assertThat("Exception is incorrect!",
+                exception, is(instanceOf(CamelExecutionException.class)));
+            assertThat("Exception cause is incorrect!",
+                exception.getCause(), is(instanceOf(NoTypeConversionAvailableException.class)));
+            assertThat("Event observed!", observer.getEvents(), is(empty()));
+            return;
+        }
+        fail("No exception thrown!");
+    }
+}
+
+class Unconvertible {
+}
+
+@ApplicationScoped
+class IntegerEventObserver {
+
+    private final List<Integer> events = new CopyOnWriteArrayList<>();
+
+    void observe(@Observes Integer event) {
+        events.add(event);
+    }
+
+    List<Integer> getEvents() {
+        return events;
+    }
+}
+
+class EventConversionRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<Integer> integerEventEndpoint;
+
+    @Override
+    public void configure() {
+        from("direct:fire").to(integerEventEndpoint);
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.util.ServiceHelper;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Unmanaged.UnmanagedInstance;
+import javax.inject.Inject;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(Arquillian.class)
+public class EventEndpointRestartTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(LongEventObserver.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private CdiEventEndpoint<Long> endpoint;
+
+    @Inject
+    private LongEventObserver observer;
+
+    @Test
+    public void disposeEventOnStopAndResolveItAgainOnRestart() throws Exception {
+        Producer first = endpoint.createProducer();
+        Producer second = endpoint.createProducer();
+        Object event = field(endpoint, "event");
+        assertThat("Event is not resolved!", event, is(notNullValue()));
+        assertThat("Event is not shared!", field(first, "event"), is(sameInstance(event)));
+        assertThat("Event is not shared!", field(second, "event"), is(sameInstance(event)));
+
+        UnmanagedInstance<?> instance = (UnmanagedInstance<?>) field(endpoint, "anyEvent");
+        endpoint.stop();
+        assertThat("Unmanaged instance is not released!", field(endpoint, "anyEvent"), is(nullValue()));
+        try {
+            instance.dispose();
+            fail("Unmanaged instance is not disposed on stop!");
+        } catch (IllegalStateException expected) {
+            // Already disposed
+        }
+
+        endpoint.start();
+        Producer restarted = endpoint.createProducer();
+        assertThat("Event is not resolved again!", field(restarted, "event"), is(not(sameInstance(event))));
+
+        ServiceHelper.startService(restarted);
+        try {
+            Exchange exchange = endpoint.createExchange();
+            exchange.getIn().setBody(42L);
+            restarted.process(exchange);
+        } finally {
+            ServiceHelper.stopService(restarted);
+        }
+        assertThat("Events fired are incorrect!", observer.getEvents(), contains(42L));
+    }
+
+    private static Object field(Object object, String name) throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+}
+
+@ApplicationScoped
+class LongEventObserver {
+
+    private final List<Long> events = new CopyOnWriteArrayList<>();
+
+    void observe(@Observes Long event) {
+        events.add(event);
+    }
+
+    List<Long> getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.cdi.se.qualifier.FooQualifier;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.inject.spi.EventMetadata;
+import javax.inject.Inject;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_METADATA;
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_QUALIFIERS;
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_TYPE;
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+
+@RunWith(Arquillian.class)
+public class EventMetadataHeadersTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(EventMetadataRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private MockEndpoint consumed;
+
+    @Test
+    public void propagateEventMetadata(@FooQualifier Event<String> event) throws InterruptedException {
+        consumed.expectedMessageCount(1);
+        consumed.expectedBodiesReceived("foo");
+        consumed.expectedHeaderReceived(EVENT_TYPE, String.class);
+        consumed.message(0).predicate(exchange -> exchange.getIn().getHeader(EVENT_QUALIFIERS, Set.class).contains(new FooQualifier.Literal()));
+        consumed.message(0).predicate(exchange -> exchange.getIn().getHeader(EVENT_METADATA, EventMetadata.class).getType().equals(String.class));
+
+        event.fire("foo");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, consumed);
+    }
+}
+
+class EventMetadataRoute extends RouteBuilder {
+
+    @Inject
+    @FooQualifier
+    private CdiEventEndpoint<String> fooEventEndpoint;
+
+    @Override
+    public void configure() {
+        from(fooEventEndpoint).to("mock:consumed");
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.cdi.CdiEventPublisher;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class EventPublisherTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(EventPublisherBean.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private EventPublisherBean bean;
+
+    @Test
+    public void honorSubscriberDemand(Event<String> event) {
+        List<String> received = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+        bean.publisher().subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.set(s);
+                s.request(2L);
+            }
+
+            @Override
+            public void onNext(String event) {
+                received.add(event);
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        event.fire("foo");
+        event.fire("bar");
+        event.fire("baz");
+
+        assertThat("Events received before demand", received, contains("foo", "bar"));
+
+        subscription.get().request(1L);
+
+        assertThat("Events received after demand", received, contains("foo", "bar", "baz"));
+
+        subscription.get().cancel();
+    }
+
+    @Test
+    public void deliverEventsOnceSubscriberIsSetUp(Event<String> event) throws InterruptedException {
+        AtomicBoolean setUp = new AtomicBoolean();
+        List<Boolean> received = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+        bean.publisher().subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+                // An event fired concurrently while the subscriber is still being set up
+                Thread thread = new Thread(() -> event.fire("foo"));
+                thread.start();
+                try {
+                    thread.join();
+                } catch (InterruptedException cause) {
+                    Thread.currentThread().interrupt();
+                }
+                subscription.set(s);
+                setUp.set(true);
+            }
+
+            @Override
+            public void onNext(String event) {
+                received.add(setUp.get());
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertThat("Event received before the subscriber is set up", received, contains(true));
+
+        subscription.get().cancel();
+    }
+
+    @Test
+    public void cancelFailingSubscriber(Event<String> event) {
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        bean.publisher().subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String event) {
+                received.add(event);
+                throw new IllegalStateException("failure message!");
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        // The exception of the subscriber does not propagate to the firing thread
+        event.fire("foo");
+        event.fire("bar");
+
+        assertThat("Events received by the failing subscriber", received, contains("foo"));
+        assertThat("Subscription not cancelled", bean.subscribers(), is(equalTo(0)));
+    }
+}
+
+@ApplicationScoped
+class EventPublisherBean {
+
+    @Inject
+    private CdiEventEndpoint<String> endpoint;
+
+    Publisher<String> publisher() {
+        return CdiEventPublisher.of(endpoint);
+    }
+
+    int subscribers() {
+        return endpoint.getSubscriberCount();
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.management.event.ExchangeCompletedEvent;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class ExchangeEventEndpointTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test classes
+            .addClasses(ProcessedExchanges.class, ExchangeEventRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private ProcessedExchanges exchanges;
+
+    @Inject
+    private MockEndpoint strings;
+
+    @Inject
+    private MockEndpoint completed;
+
+    @Test
+    public void notifyExchangeEventsOnlyOnce(Event<String> event) throws InterruptedException {
+        strings.expectedBodiesReceived("foo");
+        // The exchanges of the exchange event route must not fire exchange events in turn
+        completed.expectedMessageCount(1);
+        // Leave some time for unexpected exchange events
+        completed.setAssertPeriod(500L);
+
+        event.fire("foo");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, strings, completed);
+
+        assertThat("String event exchanges are incorrect!", exchanges.getStringExchanges(), hasSize(1));
+        assertThat("Exchange event exchanges are incorrect!", exchanges.getCompletedExchanges(), hasSize(1));
+
+        // The property is only set for exchange events
+        assertThat("Notify event property is incorrect!",
+            exchanges.getStringExchanges().get(0).getProperty(Exchange.NOTIFY_EVENT), is(nullValue()));
+        // And not reset once the exchange is processed
+        assertThat("Notify event property is incorrect!",
+            exchanges.getCompletedExchanges().get(0).getProperty(Exchange.NOTIFY_EVENT, Boolean.class), is(equalTo(true)));
+        assertThat("Exchange event is incorrect!",
+            exchanges.getCompletedExchanges().get(0).getIn().getBody(ExchangeCompletedEvent.class).getExchange(),
+            is(equalTo(exchanges.getStringExchanges().get(0))));
+    }
+}
+
+@ApplicationScoped
+class ProcessedExchanges {
+
+    private final List<Exchange> stringExchanges = new CopyOnWriteArrayList<>();
+
+    private final List<Exchange> completedExchanges = new CopyOnWriteArrayList<>();
+
+    List<Exchange> getStringExchanges() {
+        return stringExchanges;
+    }
+
+    List<Exchange> getCompletedExchanges() {
+        return completedExchanges;
+    }
+}
+
+class ExchangeEventRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<String> stringEventEndpoint;
+
+    @Inject
+    private CdiEventEndpoint<ExchangeCompletedEvent> completedEventEndpoint;
+
+    @Inject
+    private ProcessedExchanges exchanges;
+
+    @Override
+    public void configure() {
+        from(stringEventEndpoint).process(exchange -> exchanges.getStringExchanges().add(exchange)).to("mock:strings");
+
+        from(completedEventEndpoint).process(exchange -> exchanges.getCompletedExchanges().add(exchange)).to("mock:completed");
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.cdi.CdiEventPublisher;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class FilteredEventEndpointTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(FilteredEventRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private CdiEventEndpoint<String> endpoint;
+
+    @Inject
+    private MockEndpoint consumed;
+
+    @Test
+    public void discardFilteredOutEvents(Event<String> event) throws InterruptedException {
+        List<String> received = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+        CdiEventPublisher.of(endpoint).subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.set(s);
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String event) {
+                received.add(event);
+            }
+
+            @Override
+            public void onError(Throwable cause) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        consumed.expectedMessageCount(2);
+        consumed.expectedBodiesReceived("foo", "baz");
+
+        event.fire("foo");
+        event.fire("filtered");
+        event.fire("baz");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, consumed);
+        assertThat("Events received by the subscriber", received, contains("foo", "baz"));
+
+        subscription.get().cancel();
+    }
+}
+
+class FilteredEventRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<String> stringEventEndpoint;
+
+    @Override
+    public void configure() {
+        stringEventEndpoint.setFilter(event -> !"filtered".equals(event));
+
+        from(stringEventEndpoint).to("mock:consumed");
+    }
+}
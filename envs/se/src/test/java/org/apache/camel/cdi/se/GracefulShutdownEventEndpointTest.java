@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class GracefulShutdownEventEndpointTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test classes
+            .addClasses(GracefulShutdownEventRoute.class, DeliveredEvents.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private CamelContext context;
+
+    @Inject
+    private DeliveredEvents delivered;
+
+    @Test
+    public void deliverQueuedEventsOnStopping(Event<String> event) throws Exception {
+        for (int i = 0; i < 10; i++)
+            event.fire("event-" + i);
+
+        // The events are still queued as each one takes a while to be processed
+        context.stop();
+
+        assertThat(delivered.getEvents(), containsInAnyOrder(
+            "event-0", "event-1", "event-2", "event-3", "event-4",
+            "event-5", "event-6", "event-7", "event-8", "event-9"));
+    }
+}
+
+@ApplicationScoped
+class DeliveredEvents {
+
+    private final Queue<String> events = new ConcurrentLinkedQueue<>();
+
+    Queue<String> getEvents() {
+        return events;
+    }
+}
+
+class GracefulShutdownEventRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<String> stringEventEndpoint;
+
+    @Inject
+    private DeliveredEvents delivered;
+
+    @Override
+    public void configure() {
+        stringEventEndpoint.setConcurrentConsumers(2);
+        stringEventEndpoint.setQueueSize(10);
+
+        from(stringEventEndpoint)
+            .delay(50)
+            .process(exchange -> delivered.getEvents().add(exchange.getIn().getBody(String.class)));
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.CdiEventEndpoint;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class LaneEventEndpointTest {
+
+    private static final int KEYS = 5;
+
+    private static final int EVENTS_PER_KEY = 20;
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test classes
+            .addClasses(LaneEventRoute.class, KeyedEvent.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    private MockEndpoint consumed;
+
+    @Test
+    public void consumeEventsInOrderPerKey(Event<KeyedEvent> event) throws InterruptedException {
+        consumed.expectedMessageCount(KEYS * EVENTS_PER_KEY);
+
+        // Interleave the events of the different keys
+        for (int sequence = 0; sequence < EVENTS_PER_KEY; sequence++)
+            for (int key = 0; key < KEYS; key++)
+                event.fire(new KeyedEvent("key-" + key, sequence));
+
+        assertIsSatisfied(5L, TimeUnit.SECONDS, consumed);
+
+        Map<String, List<Integer>> sequences = consumed.getReceivedExchanges().stream()
+            .map(exchange -> exchange.getIn().getBody(KeyedEvent.class))
+            .collect(groupingBy(KeyedEvent::getKey, mapping(KeyedEvent::getSequence, toList())));
+
+        List<Integer> expected = IntStream.range(0, EVENTS_PER_KEY).boxed().collect(toList());
+        assertThat("Number of keys is incorrect!", sequences.size(), is(equalTo(KEYS)));
+        sequences.forEach((key, received) ->
+            assertThat("Events for [" + key + "] are out of order!", received, is(equalTo(expected))));
+    }
+}
+
+class KeyedEvent {
+
+    private final String key;
+
+    private final int sequence;
+
+    KeyedEvent(String key, int sequence) {
+        this.key = key;
+        this.sequence = sequence;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+}
+
+class LaneEventRoute extends RouteBuilder {
+
+    @Inject
+    private CdiEventEndpoint<KeyedEvent> keyedEventEndpoint;
+
+    @Override
+    public void configure() {
+        keyedEventEndpoint.setLanes(3);
+        keyedEventEndpoint.setLaneKey(simple("${body.key}"));
+
+        from(keyedEventEndpoint)
+            // Vary the processing time so that reordering would show up
+            .process(exchange -> TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(5)))
+            .to("mock:consumed");
+    }
+}
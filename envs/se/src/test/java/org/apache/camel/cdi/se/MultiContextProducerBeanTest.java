@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ConsumerTemplate;
+import org.apache.camel.FluentProducerTemplate;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.ContextName;
+import org.apache.camel.cdi.se.bean.FirstCamelContextBean;
+import org.apache.camel.cdi.se.bean.SecondCamelContextBean;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class MultiContextProducerBeanTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test classes
+            .addClasses(FirstCamelContextBean.class, SecondCamelContextBean.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    @ContextName("first")
+    private ProducerTemplate firstProducer;
+
+    @Inject
+    @ContextName("second")
+    private ProducerTemplate secondProducer;
+
+    @Inject
+    @ContextName("first")
+    private FluentProducerTemplate firstFluentProducer;
+
+    @Inject
+    @ContextName("second")
+    private FluentProducerTemplate secondFluentProducer;
+
+    @Inject
+    @ContextName("first")
+    private ConsumerTemplate firstConsumer;
+
+    @Inject
+    @ContextName("second")
+    private ConsumerTemplate secondConsumer;
+
+    @Inject
+    @ContextName("first")
+    private CamelContext firstContext;
+
+    @Inject
+    @ContextName("second")
+    private CamelContext secondContext;
+
+    @Inject
+    @ContextName("first")
+    private TypeConverter firstTypeConverter;
+
+    @Inject
+    @ContextName("second")
+    private TypeConverter secondTypeConverter;
+
+    @Test
+    public void bindProducerTemplatesToTheirContext() {
+        assertThat("Producer template context is incorrect!", firstProducer.getCamelContext().getName(), is(equalTo("first")));
+        assertThat("Producer template context is incorrect!", secondProducer.getCamelContext().getName(), is(equalTo("second")));
+    }
+
+    @Test
+    public void bindFluentProducerTemplatesToTheirContext() {
+        assertThat("Fluent producer template context is incorrect!", firstFluentProducer.getCamelContext().getName(), is(equalTo("first")));
+        assertThat("Fluent producer template context is incorrect!", secondFluentProducer.getCamelContext().getName(), is(equalTo("second")));
+    }
+
+    @Test
+    public void bindConsumerTemplatesToTheirContext() {
+        assertThat("Consumer template context is incorrect!", firstConsumer.getCamelContext().getName(), is(equalTo("first")));
+        assertThat("Consumer template context is incorrect!", secondConsumer.getCamelContext().getName(), is(equalTo("second")));
+    }
+
+    @Test
+    public void bindTypeConvertersToTheirContext() {
+        assertThat("Type converter is incorrect!", firstTypeConverter, is(sameInstance(firstContext.getTypeConverter())));
+        assertThat("Type converter is incorrect!", secondTypeConverter, is(sameInstance(secondContext.getTypeConverter())));
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.Uri;
+import org.apache.camel.cdi.se.bean.UriEndpointRoute;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class PooledProducerTemplateTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test class
+            .addClass(UriEndpointRoute.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    @Uri("direct:inbound")
+    private ProducerTemplate first;
+
+    @Inject
+    @Uri("direct:inbound")
+    private ProducerTemplate second;
+
+    @Inject
+    @Uri("mock:outbound")
+    private ProducerTemplate other;
+
+    @Inject
+    @Uri("mock:outbound")
+    private MockEndpoint outbound;
+
+    @Test
+    public void shareProducerTemplatePerUri() throws InterruptedException {
+        outbound.reset();
+        outbound.expectedBodiesReceived("first", "second");
+
+        first.sendBody("first");
+        second.sendBody("second");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+    }
+
+    @Test
+    public void ignoreSharedProducerTemplateStop() throws Exception {
+        outbound.reset();
+        outbound.expectedBodiesReceived("message");
+
+        first.stop();
+        second.sendBody("message");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+    }
+
+    @Test
+    public void isolateSharedProducerTemplateDefaultEndpointChange() throws InterruptedException {
+        outbound.reset();
+        outbound.expectedBodiesReceived("first", "second");
+
+        other.setDefaultEndpointUri("direct:inbound");
+        other.sendBody("first");
+        second.sendBody("second");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+        assertThat("Default endpoint change leaked to another injection point!",
+            second.getDefaultEndpoint().getEndpointUri(), is(equalTo("direct://inbound")));
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.inject.Named;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class RegistryLookupTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Test classes
+            .addClasses(ApplicationScopedNamedBean.class, DependentNamedBean.class)
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Test
+    public void lookupNormalScopedBean(CamelContext context) {
+        Object bean = context.getRegistry().lookupByName("applicationScoped");
+
+        assertThat("Bean is incorrect!", bean, is(instanceOf(ApplicationScopedNamedBean.class)));
+        assertThat("Bean reference is not reused!", context.getRegistry().lookupByName("applicationScoped"), is(sameInstance(bean)));
+        assertThat("Bean reference is not reused!", context.getRegistry().lookupByNameAndType("applicationScoped", ApplicationScopedNamedBean.class), is(sameInstance(bean)));
+    }
+
+    @Test
+    public void lookupDependentBean(CamelContext context) {
+        Object bean = context.getRegistry().lookupByName("dependent");
+
+        assertThat("Bean is incorrect!", bean, is(instanceOf(DependentNamedBean.class)));
+        assertThat("Dependent bean instance is reused!", context.getRegistry().lookupByName("dependent"), is(not(sameInstance(bean))));
+    }
+
+    @Test
+    public void findNormalScopedBeansByType(CamelContext context) {
+        Set<ApplicationScopedNamedBean> beans = context.getRegistry().findByType(ApplicationScopedNamedBean.class);
+
+        assertThat("Beans are incorrect!", beans, hasSize(1));
+        assertThat("Bean references are not reused!", context.getRegistry().findByType(ApplicationScopedNamedBean.class), is(sameInstance(beans)));
+        assertThat("Named beans are incorrect!", context.getRegistry().findByTypeWithName(ApplicationScopedNamedBean.class), hasKey("applicationScoped"));
+    }
+
+    @Test
+    public void findDependentBeansByType(CamelContext context) {
+        Map<String, DependentNamedBean> beans = context.getRegistry().findByTypeWithName(DependentNamedBean.class);
+
+        assertThat("Named beans are incorrect!", beans, hasKey("dependent"));
+        assertThat("Dependent bean instance is reused!", context.getRegistry().findByTypeWithName(DependentNamedBean.class).get("dependent"),
+            is(not(sameInstance(beans.get("dependent")))));
+    }
+
+    @Test
+    public void lookupUnknownBean(CamelContext context) {
+        assertThat("Bean is not null!", context.getRegistry().lookupByName("unknown"), is(nullValue()));
+        assertThat("Bean is not null!", context.getRegistry().lookupByName("unknown"), is(nullValue()));
+    }
+}
+
+@ApplicationScoped
+@Named("applicationScoped")
+class ApplicationScopedNamedBean {
+}
+
+@Dependent
+@Named("dependent")
+class DependentNamedBean {
+}
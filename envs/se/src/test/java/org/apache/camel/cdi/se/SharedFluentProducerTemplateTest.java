@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi.se;
+
+import org.apache.camel.FluentProducerTemplate;
+import org.apache.camel.cdi.CdiCamelExtension;
+import org.apache.camel.cdi.Uri;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+@RunWith(Arquillian.class)
+public class SharedFluentProducerTemplateTest {
+
+    @Deployment
+    public static Archive<?> deployment() {
+        return ShrinkWrap.create(JavaArchive.class)
+            // Camel CDI
+            .addPackage(CdiCamelExtension.class.getPackage())
+            // Bean archive deployment descriptor
+            .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+    }
+
+    @Inject
+    @Uri("mock:outbound")
+    private FluentProducerTemplate first;
+
+    @Inject
+    @Uri("mock:outbound")
+    private MockEndpoint outbound;
+
+    @Test
+    public void isolateStateOfEachCall() throws InterruptedException {
+        outbound.reset();
+        outbound.expectedBodiesReceived("first", "second");
+
+        first.withHeader("header", "value").withBody("first").send();
+        first.withBody("second").send();
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+        assertThat("Header is not set!", outbound.getExchanges().get(0).getIn().getHeader("header"), is("value"));
+        assertThat("Header is not reset!", outbound.getExchanges().get(1).getIn().getHeader("header"), is(nullValue()));
+    }
+
+    @Test
+    public void sendConcurrently() throws Exception {
+        int threads = 4;
+        int messages = 100;
+        outbound.reset();
+        outbound.expectedMessageCount(threads * messages);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String thread = "thread-" + i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < messages; j++)
+                        first.withHeader("thread", thread).withBody(thread).send();
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get(10L, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+        outbound.getExchanges().forEach(exchange ->
+            assertThat("Body and header are mixed up!", exchange.getIn().getBody(), is(exchange.getIn().getHeader("thread"))));
+    }
+}
@@ -30,8 +30,15 @@ class BeanAlternative<T> implements BeanAttributes<T> {
 
     private final Set<Annotation> qualifiers;
 
+    private final boolean alternative;
+
     BeanAlternative(BeanAttributes<T> attributes, Set<? extends Annotation> qualifiers) {
+        this(attributes, qualifiers, true);
+    }
+
+    BeanAlternative(BeanAttributes<T> attributes, Set<? extends Annotation> qualifiers, boolean alternative) {
         this.attributes = attributes;
+        this.alternative = alternative;
         Set<Annotation> annotations = new HashSet<>(attributes.getQualifiers());
         annotations.addAll(qualifiers);
         this.qualifiers = unmodifiableSet(annotations);
@@ -64,7 +71,7 @@ class BeanAlternative<T> implements BeanAttributes<T> {
 
     @Override
     public boolean isAlternative() {
-        return true;
+        return alternative;
     }
 
     @Override
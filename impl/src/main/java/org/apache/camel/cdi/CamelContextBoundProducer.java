@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.cdi.CdiCamelFactory.ContextBoundProducer;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.enterprise.inject.spi.Producer;
+import java.util.Set;
+
+import static java.util.Collections.singleton;
+import static org.apache.camel.cdi.BeanManagerHelper.getReference;
+
+/**
+ * The producer of a {@link CdiCamelFactory} bean defined for a given Camel context bean, that produces the
+ * Camel primitive for that Camel context, so that it does not get resolved at runtime. Only the metadata
+ * of the injection point gets injected, and only for the primitives that depend on it.
+ */
+final class CamelContextBoundProducer<T> extends DelegateProducer<T> {
+
+    private final BeanManager manager;
+
+    private final Bean<?> context;
+
+    private final ContextBoundProducer<T> producer;
+
+    // The injection point metadata parameter of the producer method
+    private final InjectionPoint ip;
+
+    private volatile CamelContext reference;
+
+    CamelContextBoundProducer(Producer<T> delegate, ContextBoundProducer<T> producer, Bean<?> context, BeanManager manager) {
+        super(delegate);
+        this.producer = producer;
+        this.context = context;
+        this.manager = manager;
+        this.ip = delegate.getInjectionPoints().stream()
+            .filter(ip -> InjectionPoint.class.equals(ip.getType()))
+            .findAny()
+            .orElseThrow(() -> new IllegalArgumentException("No injection point metadata parameter for " + delegate));
+    }
+
+    @Override
+    public T produce(CreationalContext<T> cc) {
+        return producer.produce(getContext(), () -> (InjectionPoint) manager.getInjectableReference(ip, cc));
+    }
+
+    @Override
+    public Set<InjectionPoint> getInjectionPoints() {
+        return singleton(ip);
+    }
+
+    private CamelContext getContext() {
+        if (!manager.isNormalScope(context.getScope()))
+            return getReference(manager, CamelContext.class, context);
+
+        // The client proxy of a normal-scoped Camel context can be reused
+        CamelContext reference = this.reference;
+        if (reference == null)
+            this.reference = reference = getReference(manager, CamelContext.class, context);
+        return reference;
+    }
+}
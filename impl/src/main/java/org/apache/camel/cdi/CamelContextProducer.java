@@ -65,11 +65,24 @@ final class CamelContextProducer<T extends CamelContext> extends DelegateProduce
         if (context.getNameStrategy() instanceof DefaultCamelContextNameStrategy)
             context.setNameStrategy(nameStrategy(annotated));
 
+        CdiCamelExtension extension = manager.getExtension(CdiCamelExtension.class);
+
         // Add bean registry and Camel injector
         if (context instanceof DefaultCamelContext) {
             DefaultCamelContext adapted = context.adapt(DefaultCamelContext.class);
-            adapted.setRegistry(new CdiCamelRegistry(manager));
-            adapted.setInjector(new CdiCamelInjector(context.getInjector(), manager));
+            CdiDependentReferences dependents = new CdiDependentReferences(manager, extension.getConfiguration());
+            CdiCamelRegistry registry = new CdiCamelRegistry(manager, extension, dependents);
+            adapted.setRegistry(registry);
+            // Register the registry as a service so that its cache statistics get managed, and the dependent
+            // references and the pooled producer templates so that they get released when the context stops
+            try {
+                adapted.addService(registry);
+                adapted.addService(dependents);
+                adapted.addService(new CdiProducerTemplates(context));
+            } catch (Exception cause) {
+                throw wrapRuntimeCamelException(cause);
+            }
+            adapted.setInjector(new CdiCamelInjector(context.getInjector(), manager, dependents));
         } else {
             // Fail fast for the time being to avoid side effects by the time these two methods get declared on the CamelContext interface
             throw new DeploymentException("Camel CDI requires Camel context [" + context.getName() + "] to be a subtype of DefaultCamelContext");
@@ -83,9 +96,10 @@ final class CamelContextProducer<T extends CamelContext> extends DelegateProduce
         qualifiers.add(Any.Literal.INSTANCE);
         if (qualifiers.size() == 1)
             qualifiers.add(Default.Literal.INSTANCE);
-        qualifiers.retainAll(manager.getExtension(CdiCamelExtension.class).getObserverEvents());
+        qualifiers.retainAll(extension.getObserverEvents());
         if (!qualifiers.isEmpty())
-            context.getManagementStrategy().addEventNotifier(new CdiEventNotifier(manager, qualifiers));
+            context.getManagementStrategy().addEventNotifier(new CdiEventNotifier(manager, context, qualifiers,
+                extension.getObservedEvents(qualifiers), extension.getConfiguration()));
 
         return context;
     }
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import javax.enterprise.inject.Vetoed;
+import javax.enterprise.inject.spi.Bean;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+import static org.apache.camel.util.ObjectHelper.convertPrimitiveTypeToWrapperType;
+
+/**
+ * The index of the beans by raw type, built once the deployment has been validated, from the type closure
+ * of each bean, so that the lookups by type do not go through the typesafe resolution of the bean manager.
+ * A bean is indexed by the raw type of a parameterized bean type only if its type arguments are {@code Object}
+ * or unbounded type variables, as per the assignability rules of raw required types.
+ */
+@Vetoed
+final class CdiBeanTypeIndex {
+
+    private final Map<Class<?>, Set<Bean<?>>> beans = new HashMap<>();
+
+    CdiBeanTypeIndex(Collection<Bean<?>> beans) {
+        for (Bean<?> bean : beans)
+            for (Type type : bean.getTypes())
+                rawType(type).ifPresent(raw -> this.beans.computeIfAbsent(raw, key -> new HashSet<>()).add(bean));
+        this.beans.replaceAll((type, set) -> unmodifiableSet(set));
+    }
+
+    Set<Bean<?>> getBeans(Class<?> type) {
+        return beans.getOrDefault(type, emptySet());
+    }
+
+    private static Optional<Class<?>> rawType(Type type) {
+        if (type instanceof Class)
+            return Optional.of(convertPrimitiveTypeToWrapperType((Class<?>) type));
+
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            if (Stream.of(parameterized.getActualTypeArguments()).allMatch(CdiBeanTypeIndex::isUnbounded))
+                return Optional.of((Class<?>) parameterized.getRawType());
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isUnbounded(Type type) {
+        if (Object.class.equals(type))
+            return true;
+        return type instanceof TypeVariable
+            && Stream.of(((TypeVariable<?>) type).getBounds()).allMatch(Object.class::equals);
+    }
+}
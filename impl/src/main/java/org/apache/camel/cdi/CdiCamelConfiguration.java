@@ -16,6 +16,8 @@
  */
 package org.apache.camel.cdi;
 
+import java.util.EventObject;
+
 /**
  * The Camel CDI configuration. Camel CDI fires a {@code CdiCamelConfiguration} event
  * during the deployment phase that the application can observe and use to configure it.
@@ -39,4 +41,77 @@ public interface CdiCamelConfiguration {
      * @return Current state of autoConfigureRoutes parameter.
      */
     boolean autoConfigureRoutes();
+
+    /**
+     * Overrides the Camel CDI behavior to create a new instance of the {@code @Dependent} beans
+     * each time they are looked up by the Camel contexts, through their registry or their injector,
+     * and to destroy it when the Camel context stops. When enabled, a single instance is cached
+     * per {@code @Dependent} bean for each Camel context and destroyed when the Camel context stops.
+     *
+     * @return this Camel CDI configuration
+     * @throws IllegalStateException if called outside of the observer method invocation
+     */
+    CdiCamelConfiguration cacheDependentBeans(boolean cacheDependentBeans);
+
+    /**
+     * @return Current state of cacheDependentBeans parameter.
+     */
+    boolean cacheDependentBeans();
+
+    /**
+     * Overrides the Camel CDI behavior to synchronously fire the Camel events to the
+     * CDI observers from the threads that emit them. When enabled, the Camel events get
+     * enqueued into a bounded queue per Camel context and fired, in order, by a dedicated
+     * thread, the events being dropped when the queue is full so that observers never slow
+     * down the routes.
+     *
+     * @return this Camel CDI configuration
+     * @throws IllegalStateException if called outside of the observer method invocation
+     */
+    CdiCamelConfiguration asyncEventNotification(boolean asyncEventNotification);
+
+    /**
+     * @return Current state of asyncEventNotification parameter.
+     */
+    boolean asyncEventNotification();
+
+    /**
+     * Sets the capacity of the queue of Camel events per Camel context when
+     * the asynchronous event notification is enabled. Default value is {@code 1000}.
+     *
+     * @return this Camel CDI configuration
+     * @throws IllegalStateException if called outside of the observer method invocation
+     * @throws IllegalArgumentException if the capacity is not strictly positive
+     */
+    CdiCamelConfiguration eventNotificationQueueSize(int eventNotificationQueueSize);
+
+    /**
+     * @return Current state of eventNotificationQueueSize parameter.
+     */
+    int eventNotificationQueueSize();
+
+    /**
+     * Sets the sampling policy applied to the Camel events of the given type, and of
+     * its subtypes, before they get fired to the CDI observers, for all the Camel contexts.
+     *
+     * @return this Camel CDI configuration
+     * @throws IllegalStateException if called outside of the observer method invocation
+     */
+    CdiCamelConfiguration eventSampling(Class<? extends EventObject> type, CdiEventSampling sampling);
+
+    /**
+     * Sets the sampling policy applied to the Camel events of the given type, and of
+     * its subtypes, before they get fired to the CDI observers, for the Camel context
+     * with the given name. It takes precedence over the policy set for all the Camel contexts.
+     *
+     * @return this Camel CDI configuration
+     * @throws IllegalStateException if called outside of the observer method invocation
+     */
+    CdiCamelConfiguration eventSampling(String contextName, Class<? extends EventObject> type, CdiEventSampling sampling);
+
+    /**
+     * @return The sampling policy set for the Camel events of the given type and the Camel context
+     * with the given name, if any, or else for all the Camel contexts, if any.
+     */
+    CdiEventSampling eventSampling(String contextName, Class<? extends EventObject> type);
 }
\ No newline at end of file
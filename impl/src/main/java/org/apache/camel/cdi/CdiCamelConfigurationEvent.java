@@ -16,10 +16,26 @@
  */
 package org.apache.camel.cdi;
 
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.requireNonNull;
+
 /* package-private */ final class CdiCamelConfigurationEvent implements CdiCamelConfiguration {
 
     private boolean autoConfigureRoutes = true;
 
+    private boolean cacheDependentBeans;
+
+    private boolean asyncEventNotification;
+
+    private int eventNotificationQueueSize = 1000;
+
+    // The sampling policies per Camel context name, the null key being for all the Camel contexts
+    private final Map<String, Map<Class<?>, CdiEventSampling>> samplings = new HashMap<>();
+
     private volatile boolean unmodifiable;
 
     @Override
@@ -34,6 +50,67 @@ package org.apache.camel.cdi;
         return autoConfigureRoutes;
     }
 
+    @Override
+    public CdiCamelConfiguration cacheDependentBeans(boolean cacheDependentBeans) {
+        throwsIfUnmodifiable();
+        this.cacheDependentBeans = cacheDependentBeans;
+        return this;
+    }
+
+    @Override
+    public boolean cacheDependentBeans() {
+        return cacheDependentBeans;
+    }
+
+    @Override
+    public CdiCamelConfiguration asyncEventNotification(boolean asyncEventNotification) {
+        throwsIfUnmodifiable();
+        this.asyncEventNotification = asyncEventNotification;
+        return this;
+    }
+
+    @Override
+    public boolean asyncEventNotification() {
+        return asyncEventNotification;
+    }
+
+    @Override
+    public CdiCamelConfiguration eventNotificationQueueSize(int eventNotificationQueueSize) {
+        throwsIfUnmodifiable();
+        if (eventNotificationQueueSize < 1)
+            throw new IllegalArgumentException("Event notification queue size must be strictly positive, was ["
+                + eventNotificationQueueSize + "]");
+        this.eventNotificationQueueSize = eventNotificationQueueSize;
+        return this;
+    }
+
+    @Override
+    public int eventNotificationQueueSize() {
+        return eventNotificationQueueSize;
+    }
+
+    @Override
+    public CdiCamelConfiguration eventSampling(Class<? extends EventObject> type, CdiEventSampling sampling) {
+        return eventSampling(null, type, sampling);
+    }
+
+    @Override
+    public CdiCamelConfiguration eventSampling(String contextName, Class<? extends EventObject> type, CdiEventSampling sampling) {
+        throwsIfUnmodifiable();
+        samplings.computeIfAbsent(contextName, name -> new HashMap<>()).put(requireNonNull(type), requireNonNull(sampling));
+        return this;
+    }
+
+    @Override
+    public CdiEventSampling eventSampling(String contextName, Class<? extends EventObject> type) {
+        CdiEventSampling sampling = samplings.getOrDefault(contextName, emptyMap()).get(type);
+        return sampling != null ? sampling : samplings.getOrDefault(null, emptyMap()).get(type);
+    }
+
+    boolean hasEventSampling() {
+        return !samplings.isEmpty();
+    }
+
     void unmodifiable() {
         unmodifiable = true;
     }
@@ -22,12 +22,14 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Component;
 import org.apache.camel.Consume;
 import org.apache.camel.Converter;
+import org.apache.camel.Endpoint;
 import org.apache.camel.EndpointInject;
+import org.apache.camel.FluentProducerTemplate;
 import org.apache.camel.Produce;
+import org.apache.camel.ProducerTemplate;
 import org.apache.camel.PropertyInject;
 import org.apache.camel.RoutesBuilder;
 import org.apache.camel.ServiceStatus;
-import org.apache.camel.TypeConverter;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.management.event.AbstractExchangeEvent;
 import org.apache.camel.model.RouteContainer;
@@ -36,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
+import javax.enterprise.inject.AmbiguousResolutionException;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Default;
 import javax.enterprise.inject.Produces;
@@ -55,26 +58,38 @@ import javax.enterprise.inject.spi.ProcessInjectionPoint;
 import javax.enterprise.inject.spi.ProcessInjectionTarget;
 import javax.enterprise.inject.spi.ProcessObserverMethod;
 import javax.enterprise.inject.spi.ProcessProducer;
+import javax.enterprise.inject.spi.Producer;
+import javax.enterprise.inject.spi.ProducerFactory;
 import javax.enterprise.inject.spi.WithAnnotations;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EventObject;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static java.util.Collections.emptySet;
 import static java.util.Collections.newSetFromMap;
 import static java.util.function.Predicate.isEqual;
 import static java.util.stream.Collectors.toSet;
 import static java.util.stream.Stream.concat;
 import static org.apache.camel.cdi.BeanManagerHelper.getReference;
+import static org.apache.camel.cdi.BeanManagerHelper.getReferenceByType;
 import static org.apache.camel.cdi.BeanManagerHelper.getReferencesByType;
+import static org.apache.camel.cdi.CdiCamelFactory.contextBoundProducer;
 import static org.apache.camel.cdi.CdiEventEndpoint.eventEndpointUri;
 import static org.apache.camel.cdi.CdiSpiHelper.getRawType;
 import static org.apache.camel.cdi.CdiSpiHelper.hasType;
@@ -100,20 +115,47 @@ public class CdiCamelExtension implements Extension {
 
     private final Map<String, CdiEventEndpoint<?>> cdiEventEndpoints = new ConcurrentHashMap<>();
 
+    // The classes of the predicate beans declared with @EventFilter per CDI event endpoint URI
+    private final Map<String, Class<? extends Predicate>> eventFilters = new ConcurrentHashMap<>();
+
     private final Set<Annotation> contextQualifiers = newSetFromMap(new ConcurrentHashMap<>());
 
-    private final Set<Annotation> eventQualifiers = newSetFromMap(new ConcurrentHashMap<>());
+    // The Camel event classes observed per qualifier
+    private final Map<Annotation, Set<Class<?>>> observedEvents = new ConcurrentHashMap<>();
 
     private final Set<ImportResource> resources = newSetFromMap(new ConcurrentHashMap<>());
 
+    private final Set<InjectionPoint> uriInjectionPoints = newSetFromMap(new ConcurrentHashMap<>());
+
     private final CdiCamelConfigurationEvent configuration = new CdiCamelConfigurationEvent();
 
+    private volatile CdiBeanTypeIndex typeIndex;
+
     CdiEventEndpoint<?> getEventEndpoint(String uri) {
         return cdiEventEndpoints.get(uri);
     }
 
     Set<Annotation> getObserverEvents() {
-        return eventQualifiers;
+        return observedEvents.keySet();
+    }
+
+    Set<Class<?>> getObservedEvents(Collection<Annotation> qualifiers) {
+        return qualifiers.stream()
+            .map(observedEvents::get)
+            .filter(Objects::nonNull)
+            .flatMap(Set::stream)
+            .collect(toSet());
+    }
+
+    CdiCamelConfigurationEvent getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Returns the index of the beans by type or {@code null} if the deployment has not been validated yet.
+     */
+    CdiBeanTypeIndex getTypeIndex() {
+        return typeIndex;
     }
 
     Set<Annotation> getContextQualifiers() {
@@ -161,6 +203,23 @@ public class CdiCamelExtension implements Extension {
             : Object.class;
         String uri = eventEndpointUri(type, ip.getQualifiers());
         cdiEventEndpoints.put(uri, new CdiEventEndpoint<>(uri, type, ip.getQualifiers(), manager));
+        EventFilter filter = ip.getAnnotated().getAnnotation(EventFilter.class);
+        if (filter != null) {
+            Class<? extends Predicate> previous = eventFilters.putIfAbsent(uri, filter.value());
+            if (previous != null && !previous.equals(filter.value()))
+                pip.addDefinitionError(new DefinitionException("Conflicting event filters [" + previous.getName()
+                    + "] and [" + filter.value().getName() + "] declared for CDI event endpoint [" + uri + "]"));
+        }
+    }
+
+    private void uriInjectionPoints(@Observes ProcessInjectionPoint<?, ?> pip) {
+        InjectionPoint ip = pip.getInjectionPoint();
+        if (ip.getQualifiers().stream().anyMatch(isAnnotationType(Uri.class))) {
+            Class<?> type = getRawType(ip.getType());
+            if (Endpoint.class.isAssignableFrom(type) || ProducerTemplate.class.equals(type)
+                || FluentProducerTemplate.class.equals(type))
+                uriInjectionPoints.add(ip);
+        }
     }
 
     private <T extends EventObject> void camelEventNotifiers(@Observes ProcessObserverMethod<T, ?> pom) {
@@ -171,14 +230,18 @@ public class CdiCamelExtension implements Extension {
         if (type instanceof Class && Class.class.cast(type).getPackage().equals(AbstractExchangeEvent.class.getPackage())) {
             Set<Annotation> qualifiers = pom.getObserverMethod().getObservedQualifiers();
             if (qualifiers.isEmpty())
-                eventQualifiers.add(ANY);
+                observeEvent(ANY, (Class<?>) type);
             else if (qualifiers.size() == 1 && qualifiers.stream().anyMatch(isAnnotationType(Named.class)))
-                eventQualifiers.add(DEFAULT);
+                observeEvent(DEFAULT, (Class<?>) type);
             else
-                eventQualifiers.addAll(qualifiers);
+                qualifiers.forEach(qualifier -> observeEvent(qualifier, (Class<?>) type));
         }
     }
 
+    private void observeEvent(Annotation qualifier, Class<?> event) {
+        observedEvents.computeIfAbsent(qualifier, q -> newSetFromMap(new ConcurrentHashMap<>())).add(event);
+    }
+
     private void afterBeanDiscovery(@Observes AfterBeanDiscovery abd, BeanManager manager) {
         // The set of extra Camel CDI beans
         Set<SyntheticBean<?>> extraBeans = new HashSet<>();
@@ -227,7 +290,9 @@ public class CdiCamelExtension implements Extension {
 
         // Add @Default Camel context bean if any and there are active Camel CDI 'primitives'
         if (contexts.size() == 0 && shouldDeployDefaultCamelContext(manager, extraBeans)) {
-            extraBeans.add(camelContextBean(manager, ANY, DEFAULT, APPLICATION_SCOPED));
+            SyntheticBean<?> context = camelContextBean(manager, ANY, DEFAULT, APPLICATION_SCOPED);
+            contexts.add(context);
+            extraBeans.add(context);
         } else if (contexts.size() == 1) {
             // Add the @Default qualifier if there is only one Camel context bean
             Bean<?> context = contexts.iterator().next();
@@ -246,18 +311,27 @@ public class CdiCamelExtension implements Extension {
             .map(CdiEventEndpoint::getQualifiers)
             .flatMap(Set::stream)
             .collect(toSet());
-        Set<Annotation> producerQualifiers = contextQualifiers.stream()
-            .filter(isAnnotationType(Default.class).or(isAnnotationType(Named.class)).negate())
-            .collect(toSet());
-        // TODO: would be more correct to add a bean for each Camel context bean
-        manager.createAnnotatedType(CdiCamelFactory.class).getMethods().stream()
-            .filter(am -> am.isAnnotationPresent(Produces.class))
-            .filter(am -> am.getTypeClosure().stream().noneMatch(isEqual(TypeConverter.class)))
-            .map(am -> camelProducerBean(manager, am,
-                CdiEventEndpoint.class.equals(getRawType(am.getBaseType()))
-                    ? endpointQualifiers
-                    : producerQualifiers))
-            .forEach(abd::addBean);
+        // The Camel context that the injection points without Camel context qualifiers resolve to, if any
+        Bean<?> defaultContext = contexts.size() == 1
+            ? contexts.iterator().next()
+            : contexts.stream().filter(context -> context.getQualifiers().contains(DEFAULT)).findAny().orElse(null);
+        for (AnnotatedMethod<? super CdiCamelFactory> am : manager.createAnnotatedType(CdiCamelFactory.class).getMethods()) {
+            if (!am.isAnnotationPresent(Produces.class))
+                continue;
+            if (CdiEventEndpoint.class.equals(getRawType(am.getBaseType()))) {
+                abd.addBean(camelProducerBean(manager, am, endpointQualifiers));
+                continue;
+            }
+            // Add a bean for each Camel context bean so that the Camel context does not get resolved on each
+            // injection. Only the beans for the default Camel context are alternatives so that they take
+            // precedence for the injection points that match the beans of several Camel contexts.
+            for (Bean<?> context : contexts)
+                abd.addBean(camelProducerBean(manager, am, context, context == defaultContext));
+            // Without default Camel context, the injection points without Camel context qualifiers keep
+            // resolving the Camel context on each injection, and fail then if it's ambiguous
+            if (defaultContext == null && !contexts.isEmpty())
+                abd.addBean(camelProducerBean(manager, am, emptySet()));
+        }
 
         // Add CDI event endpoint observer methods
         cdiEventEndpoints.values().forEach(endpoint -> addCdiEventObserver(abd, endpoint));
@@ -268,8 +342,7 @@ public class CdiCamelExtension implements Extension {
             .beanClass(CdiEventComponent.class)
             .observedType(endpoint.getType())
             .qualifiers(endpoint.getQualifiers())
-            // TODO: propagate the event metadata
-            .notifyWith(context -> endpoint.notify(context.getEvent()));
+            .notifyWith(context -> endpoint.notify(context.getEvent(), context.getMetadata()));
     }
 
     private boolean shouldDeployDefaultCamelContext(BeanManager manager, Set<SyntheticBean<?>> beans) {
@@ -323,11 +396,36 @@ public class CdiCamelExtension implements Extension {
                 (Bean<CdiCamelFactory>) manager.resolve(manager.getBeans(CdiCamelFactory.class))));
     }
 
+    private Bean<?> camelProducerBean(BeanManager manager, AnnotatedMethod<? super CdiCamelFactory> am, Bean<?> context, boolean alternative) {
+        Set<Annotation> qualifiers = context.getQualifiers().stream()
+            .filter(isAnnotationType(Default.class).or(isAnnotationType(Named.class)).negate())
+            .collect(toSet());
+        ProducerFactory<CdiCamelFactory> factory = manager.getProducerFactory(am,
+            (Bean<CdiCamelFactory>) manager.resolve(manager.getBeans(CdiCamelFactory.class)));
+        return manager.createBean(
+            new BeanAlternative<>(manager.createBeanAttributes(am), qualifiers, alternative),
+            CdiCamelFactory.class,
+            new ProducerFactory<CdiCamelFactory>() {
+                @Override
+                public <T> Producer<T> createProducer(Bean<T> bean) {
+                    return new CamelContextBoundProducer<>(factory.createProducer(bean),
+                        (ContextBoundProducer<T>) contextBoundProducer(am), context, manager);
+                }
+            });
+    }
+
     private void afterDeploymentValidation(@Observes AfterDeploymentValidation adv, BeanManager manager) {
+        // Index the beans by type before any Camel context looks them up
+        typeIndex = new CdiBeanTypeIndex(manager.getBeans(Object.class, ANY));
+
         // Send event for Camel CDI configuration
         manager.fireEvent(configuration);
         configuration.unmodifiable();
 
+        // Set the event filters before the CDI event endpoints get consumed
+        if (!setEventFilters(manager, adv))
+            return;
+
         List<CamelContext> contexts = new ArrayList<>();
         for (Bean<?> context : manager.getBeans(CamelContext.class, ANY))
             contexts.add(getReference(manager, CamelContext.class, context));
@@ -355,6 +453,10 @@ public class CdiCamelExtension implements Extension {
                 return;
         }
 
+        // Resolve the @Uri endpoints so that invalid URIs fail the deployment rather than the first injection
+        if (!resolveUriEndpoints(manager, adv))
+            return;
+
         // Trigger eager beans instantiation (calling toString is necessary to force
         // the initialization of normal-scoped beans)
         // FIXME: This does not work with OpenWebBeans for bean whose bean type is an
@@ -376,7 +478,84 @@ public class CdiCamelExtension implements Extension {
         }
 
         // Clean-up
-        Stream.of(converters, camelBeans, eagerBeans, resources).forEach(Set::clear);
+        Stream.of(converters, camelBeans, eagerBeans, resources, uriInjectionPoints).forEach(Set::clear);
+    }
+
+    private boolean setEventFilters(BeanManager manager, AfterDeploymentValidation adv) {
+        boolean resolved = true;
+        for (Map.Entry<String, Class<? extends Predicate>> entry : eventFilters.entrySet()) {
+            Optional<? extends Predicate> filter = getReferenceByType(manager, entry.getValue(), ANY);
+            if (filter.isPresent()) {
+                cdiEventEndpoints.get(entry.getKey()).setFilter(filter.get());
+            } else {
+                adv.addDeploymentProblem(new DeploymentException("No bean found for event filter ["
+                    + entry.getValue().getName() + "] of CDI event endpoint [" + entry.getKey() + "]"));
+                resolved = false;
+            }
+        }
+        eventFilters.clear();
+        return resolved;
+    }
+
+    private boolean resolveUriEndpoints(BeanManager manager, AfterDeploymentValidation adv) {
+        // The distinct URIs per Camel context, as endpoints get cached by the Camel contexts,
+        // with the URIs sorted so that their resolution order does not depend on that of the injection points
+        Map<Bean<?>, Set<String>> uris = new HashMap<>();
+        for (InjectionPoint ip : uriInjectionPoints) {
+            Bean<?> context = resolveCamelContext(manager, ip.getQualifiers());
+            // Unsatisfied or ambiguous Camel contexts are already reported by the container
+            if (context == null)
+                continue;
+            // The instance of a Camel context bean is only shared with the injection points if it's
+            // normal-scoped or a singleton, while each injection point gets its own @Dependent instance
+            if (!manager.isNormalScope(context.getScope()) && !Singleton.class.equals(context.getScope())) {
+                logger.debug("Skipping the resolution of the endpoints of injection point [{}] as Camel context bean [{}] is not shared", ip, context);
+                continue;
+            }
+            ip.getQualifiers().stream()
+                    .filter(isAnnotationType(Uri.class))
+                    .map(Uri.class::cast)
+                .forEach(uri -> uris.computeIfAbsent(context, c -> new TreeSet<>()).add(uri.value()));
+        }
+
+        // Resolved sequentially by the deploying thread, whose context class loader the components may rely on
+        boolean resolved = true;
+        for (Map.Entry<Bean<?>, Set<String>> entry : uris.entrySet()) {
+            CamelContext context = getReference(manager, CamelContext.class, entry.getKey());
+            for (String uri : entry.getValue()) {
+                DeploymentException problem = resolveUriEndpoint(context, uri);
+                if (problem != null) {
+                    adv.addDeploymentProblem(problem);
+                    resolved = false;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private DeploymentException resolveUriEndpoint(CamelContext context, String uri) {
+        try {
+            if (context.getEndpoint(uri) != null)
+                return null;
+            return new DeploymentException("No endpoint found for URI [" + uri + "] in Camel context [" + context.getName() + "]");
+        } catch (Exception cause) {
+            return new DeploymentException("Error while resolving endpoint [" + uri + "] in Camel context [" + context.getName() + "]", cause);
+        }
+    }
+
+    private Bean<?> resolveCamelContext(BeanManager manager, Set<Annotation> qualifiers) {
+        Set<Annotation> selected = new HashSet<>(qualifiers);
+        selected.retainAll(contextQualifiers);
+        Set<Bean<?>> beans = manager.getBeans(CamelContext.class, selected.isEmpty()
+            ? new Annotation[] {DEFAULT}
+            : selected.toArray(new Annotation[selected.size()]));
+        if (beans.isEmpty() && selected.isEmpty())
+            beans = manager.getBeans(CamelContext.class, ANY);
+        try {
+            return manager.resolve(beans);
+        } catch (AmbiguousResolutionException cause) {
+            return null;
+        }
     }
 
     private boolean addRouteToContext(Bean<?> routeBean, Bean<?> contextBean, BeanManager manager, AfterDeploymentValidation adv) {
@@ -30,6 +30,7 @@ import javax.enterprise.inject.Default;
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.Typed;
+import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.interceptor.Interceptor;
 import java.lang.annotation.Annotation;
@@ -38,6 +39,7 @@ import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.apache.camel.cdi.CdiEventEndpoint.eventEndpointUri;
 import static org.apache.camel.cdi.CdiSpiHelper.isAnnotationType;
@@ -60,50 +62,52 @@ final class CdiCamelFactory {
     @Default @Uri("")
     // Qualifiers are dynamically added in CdiCamelExtension
     private static ProducerTemplate producerTemplate(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension) {
-        return getQualifierByType(ip, Uri.class)
-            .map(uri -> producerTemplateFromUri(ip, instance, extension, uri))
-            .orElseGet(() -> defaultProducerTemplate(ip, instance, extension));
+        return producerTemplate(selectContext(ip, instance, extension), ip);
     }
 
-    private static ProducerTemplate producerTemplateFromUri(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension, Uri uri) {
-        CamelContext context = selectContext(ip, instance, extension);
+    private static ProducerTemplate producerTemplate(CamelContext context, InjectionPoint ip) {
+        String uri = getQualifierByType(ip, Uri.class).map(Uri::value).orElse(null);
+        CdiProducerTemplates templates = context.hasService(CdiProducerTemplates.class);
+        if (templates != null)
+            return templates.getProducerTemplate(uri);
+
+        // The Camel context is not produced by Camel CDI
         ProducerTemplate producerTemplate = context.createProducerTemplate();
-        Endpoint endpoint = context.getEndpoint(uri.value(), Endpoint.class);
-        producerTemplate.setDefaultEndpoint(endpoint);
+        if (uri != null)
+            producerTemplate.setDefaultEndpoint(context.getEndpoint(uri, Endpoint.class));
         return producerTemplate;
     }
 
-    private static ProducerTemplate defaultProducerTemplate(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension) {
-        return selectContext(ip, instance, extension).createProducerTemplate();
-    }
-
     @Produces
     @Default @Uri("")
     // Qualifiers are dynamically added in CdiCamelExtension
     private static FluentProducerTemplate fluentProducerTemplate(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension) {
-        return getQualifierByType(ip, Uri.class)
-            .map(uri -> fluentProducerTemplateFromUri(ip, instance, extension, uri))
-            .orElseGet(() -> defaultFluentProducerTemplate(ip, instance, extension));
+        return fluentProducerTemplate(selectContext(ip, instance, extension), ip);
     }
 
-    private static FluentProducerTemplate fluentProducerTemplateFromUri(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension, Uri uri) {
-        CamelContext context = selectContext(ip, instance, extension);
+    private static FluentProducerTemplate fluentProducerTemplate(CamelContext context, InjectionPoint ip) {
+        String uri = getQualifierByType(ip, Uri.class).map(Uri::value).orElse(null);
+        CdiProducerTemplates templates = context.hasService(CdiProducerTemplates.class);
+        if (templates != null)
+            return templates.getFluentProducerTemplate(uri);
+
+        // The Camel context is not produced by Camel CDI
         FluentProducerTemplate producerTemplate = context.createFluentProducerTemplate();
-        Endpoint endpoint = context.getEndpoint(uri.value(), Endpoint.class);
-        producerTemplate.setDefaultEndpoint(endpoint);
+        if (uri != null)
+            producerTemplate.setDefaultEndpoint(context.getEndpoint(uri, Endpoint.class));
         return producerTemplate;
     }
 
-    private static FluentProducerTemplate defaultFluentProducerTemplate(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension) {
-        return selectContext(ip, instance, extension).createFluentProducerTemplate();
-    }
-
     @Produces
     @Typed(MockEndpoint.class)
     // Alternative is dynamically added in CdiCamelExtension
     private static MockEndpoint mockEndpointFromMember(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension) {
+        return mockEndpointFromMember(selectContext(ip, instance, extension), ip);
+    }
+
+    private static MockEndpoint mockEndpointFromMember(CamelContext context, InjectionPoint ip) {
         String uri = "mock:" + ip.getMember().getName();
-        return selectContext(ip, instance, extension).getEndpoint(uri, MockEndpoint.class);
+        return context.getEndpoint(uri, MockEndpoint.class);
     }
 
     @Uri("")
@@ -111,16 +115,24 @@ final class CdiCamelFactory {
     @Typed(MockEndpoint.class)
     // Alternative is dynamically added in CdiCamelExtension
     private static MockEndpoint mockEndpointFromUri(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension) {
+        return mockEndpointFromUri(selectContext(ip, instance, extension), ip);
+    }
+
+    private static MockEndpoint mockEndpointFromUri(CamelContext context, InjectionPoint ip) {
         Uri uri = getQualifierByType(ip, Uri.class).get();
-        return selectContext(ip, instance, extension).getEndpoint(uri.value(), MockEndpoint.class);
+        return context.getEndpoint(uri.value(), MockEndpoint.class);
     }
 
     @Uri("")
     @Produces
     // Alternative is dynamically added in CdiCamelExtension
     private static Endpoint endpoint(InjectionPoint ip, @Any Instance<CamelContext> instance, CdiCamelExtension extension) {
+        return endpoint(selectContext(ip, instance, extension), ip);
+    }
+
+    private static Endpoint endpoint(CamelContext context, InjectionPoint ip) {
         Uri uri = getQualifierByType(ip, Uri.class).get();
-        return selectContext(ip, instance, extension).getEndpoint(uri.value(), Endpoint.class);
+        return context.getEndpoint(uri.value(), Endpoint.class);
     }
 
     @Produces
@@ -137,7 +149,41 @@ final class CdiCamelFactory {
         return context.getEndpoint(uri, CdiEventEndpoint.class);
     }
 
-    private static <T extends CamelContext> T selectContext(InjectionPoint ip, Instance<T> instance, CdiCamelExtension extension) {
+    /**
+     * Returns the function that produces the same Camel primitive as the given producer method, yet for a Camel
+     * context that's known when the bean is defined, and that only gets the injection point if it needs it.
+     */
+    static ContextBoundProducer<?> contextBoundProducer(AnnotatedMethod<?> am) {
+        switch (am.getJavaMember().getName()) {
+            case "typeConverter":
+                return (context, ip) -> context.getTypeConverter();
+            case "consumerTemplate":
+                return (context, ip) -> context.createConsumerTemplate();
+            case "producerTemplate":
+                return (context, ip) -> producerTemplate(context, ip.get());
+            case "fluentProducerTemplate":
+                return (context, ip) -> fluentProducerTemplate(context, ip.get());
+            case "mockEndpointFromMember":
+                return (context, ip) -> mockEndpointFromMember(context, ip.get());
+            case "mockEndpointFromUri":
+                return (context, ip) -> mockEndpointFromUri(context, ip.get());
+            case "endpoint":
+                return (context, ip) -> endpoint(context, ip.get());
+            default:
+                throw new IllegalArgumentException("No Camel context bound producer for " + am);
+        }
+    }
+
+    /**
+     * Produces a Camel primitive for a Camel context bound when the bean is defined.
+     */
+    @FunctionalInterface
+    interface ContextBoundProducer<T> {
+
+        T produce(CamelContext context, Supplier<InjectionPoint> ip);
+    }
+
+    private static CamelContext selectContext(InjectionPoint ip, Instance<CamelContext> instance, CdiCamelExtension extension) {
         Collection<Annotation> qualifiers = new HashSet<>(ip.getQualifiers());
         qualifiers.retainAll(extension.getContextQualifiers());
         if (qualifiers.isEmpty() && !instance.select(Default.Literal.INSTANCE).isUnsatisfied())
@@ -18,25 +18,44 @@ package org.apache.camel.cdi;
 
 import org.apache.camel.spi.Injector;
 
+import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
+import java.util.Optional;
 
-import static org.apache.camel.cdi.BeanManagerHelper.getReferenceByType;
-
+/**
+ * The {@link Injector} that resolves the types to instantiate into beans, delegating to the Camel injector
+ * the instantiation of the types that are not beans, so that any bean post-processing it performs still applies.
+ * As the set of beans is immutable once the deployment has completed, the resolution is cached per type,
+ * so that repeated instantiations by Camel, e.g. of processors or aggregation strategies, do not pay for
+ * the typesafe resolution of the bean manager.
+ */
 final class CdiCamelInjector implements Injector {
 
     private final Injector injector;
 
     private final BeanManager manager;
 
-    CdiCamelInjector(Injector injector, BeanManager manager) {
+    private final CdiDependentReferences dependents;
+
+    private final ClassValue<Optional<Bean<?>>> beans = new ClassValue<Optional<Bean<?>>>() {
+        @Override
+        protected Optional<Bean<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(manager.resolve(manager.getBeans(type)));
+        }
+    };
+
+    CdiCamelInjector(Injector injector, BeanManager manager, CdiDependentReferences dependents) {
         this.injector = injector;
         this.manager = manager;
+        this.dependents = dependents;
     }
 
     @Override
     public <T> T newInstance(Class<T> type) {
-        return getReferenceByType(manager, type)
-            .orElseGet(() -> injector.newInstance(type));
+        Optional<Bean<?>> bean = beans.get(type);
+        if (bean.isPresent())
+            return dependents.getReference(type, bean.get());
+        return injector.newInstance(type);
     }
 
     @Override
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.cdi;
 
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.spi.Registry;
+import org.apache.camel.support.ServiceSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,33 +29,71 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
 import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static org.apache.camel.cdi.BeanManagerHelper.getReference;
-import static org.apache.camel.cdi.BeanManagerHelper.getReferenceByName;
-import static org.apache.camel.cdi.BeanManagerHelper.getReferencesByType;
 import static org.apache.camel.util.ObjectHelper.notEmpty;
 import static org.apache.camel.util.ObjectHelper.notNull;
 
 /**
  * The {@link Registry} used by Camel to perform lookup into the CDI {@link javax.enterprise.inject.spi.BeanManager}.
+ * <p>
+ * As the set of beans is immutable once the deployment has completed, the beans resolved by name are cached,
+ * as well as the contextual references of the normal-scoped beans, which are client proxies, while the names
+ * that do not resolve to any bean are cached into a bounded negative cache.
+ * <p>
+ * The lookups by type are resolved from the {@link CdiBeanTypeIndex} built once the deployment has been validated,
+ * and their results are cached as immutable collections when all the matching beans are normal-scoped, the
+ * contextual references being resolved lazily on the first lookup of each type.
  */
 @Vetoed
-final class CdiCamelRegistry implements Registry {
+@ManagedResource(description = "Managed CdiCamelRegistry")
+final class CdiCamelRegistry extends ServiceSupport implements Registry {
+
+    // Names may be computed dynamically, e.g. from message headers, so that misses are bounded
+    private static final int MAX_MISSES = 1000;
 
     private final Logger logger = LoggerFactory.getLogger(CdiCamelRegistry.class);
 
     private final BeanManager manager;
 
-    CdiCamelRegistry(BeanManager manager) {
+    private final CdiCamelExtension extension;
+
+    private final CdiDependentReferences dependents;
+
+    private final ConcurrentMap<String, Bean<?>> beans = new ConcurrentHashMap<>();
+
+    // The client proxies of the normal-scoped beans per name and type
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, Object>> proxies = new ConcurrentHashMap<>();
+
+    private final Set<String> misses = newSetFromMap(new ConcurrentHashMap<>());
+
+    private final ConcurrentMap<Class<?>, Map<String, ?>> namedByType = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Set<?>> byType = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
+    CdiCamelRegistry(BeanManager manager, CdiCamelExtension extension, CdiDependentReferences dependents) {
         this.manager = manager;
+        this.extension = extension;
+        this.dependents = dependents;
     }
 
     @Override
     public Object lookupByName(String name) {
         notEmpty(name, "name");
         logger.trace("Looking up bean with name [{}]", name);
-        return getReferenceByName(manager, name, Object.class).orElse(null);
+        return lookupReference(name, Object.class);
     }
 
     @Override
@@ -60,23 +101,113 @@ final class CdiCamelRegistry implements Registry {
         notEmpty(name, "name");
         notNull(type, "type");
         logger.trace("Looking up bean with name [{}] of type [{}]", name, type);
-        return getReferenceByName(manager, name, type).orElse(null);
+        return lookupReference(name, type);
+    }
+
+    private <T> T lookupReference(String name, Class<T> type) {
+        Bean<?> bean = beans.get(name);
+        if (bean != null || misses.contains(name)) {
+            cacheHits.increment();
+            if (bean == null)
+                return null;
+        } else {
+            cacheMisses.increment();
+            bean = manager.resolve(manager.getBeans(name));
+            if (bean == null) {
+                if (misses.size() < MAX_MISSES)
+                    misses.add(name);
+                return null;
+            }
+            beans.putIfAbsent(name, bean);
+        }
+
+        if (!manager.isNormalScope(bean.getScope()))
+            return dependents.getReference(type, bean);
+
+        Bean<?> resolved = bean;
+        return type.cast(proxies.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(type, key -> getReference(manager, key, resolved)));
+    }
+
+    /**
+     * Returns the number of lookups by name resolved from the cache.
+     */
+    @ManagedAttribute(description = "Number of lookups by name resolved from the cache")
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Returns the number of lookups by name resolved from the bean manager.
+     */
+    @ManagedAttribute(description = "Number of lookups by name resolved from the bean manager")
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Returns the number of names cached as not resolving to any bean.
+     */
+    @ManagedAttribute(description = "Number of names cached as not resolving to any bean")
+    public int getNegativeCacheSize() {
+        return misses.size();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
     }
 
     @Override
+    protected void doStop() throws Exception {
+        logger.debug("Lookups by name resolved from the cache [{}] and from the bean manager [{}]",
+            cacheHits.sum(), cacheMisses.sum());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
     public <T> Map<String, T> findByTypeWithName(Class<T> type) {
         notNull(type, "type");
         logger.trace("Looking up named beans of type [{}]", type);
-        return manager.getBeans(type, Any.Literal.INSTANCE).stream()
+        Map<String, ?> cached = namedByType.get(type);
+        if (cached != null)
+            return (Map<String, T>) cached;
+
+        CdiBeanTypeIndex index = extension.getTypeIndex();
+        Set<Bean<?>> beans = index != null ? index.getBeans(type) : manager.getBeans(type, Any.Literal.INSTANCE);
+        Map<String, T> references = beans.stream()
             .filter(bean -> bean.getName() != null)
-            .collect(toMap(Bean::getName, bean -> getReference(manager, type, bean)));
+            .collect(toMap(Bean::getName, bean -> dependents.getReference(type, bean)));
+        if (index == null || !isNormalScoped(beans))
+            return references;
+        Map<String, T> result = unmodifiableMap(references);
+        Map<String, ?> previous = namedByType.putIfAbsent(type, result);
+        return previous != null ? (Map<String, T>) previous : result;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> Set<T> findByType(Class<T> type) {
         notNull(type, "type");
         logger.trace("Looking up beans of type [{}]", type);
-        return getReferencesByType(manager, type, Any.Literal.INSTANCE);
+        Set<?> cached = byType.get(type);
+        if (cached != null)
+            return (Set<T>) cached;
+
+        CdiBeanTypeIndex index = extension.getTypeIndex();
+        Set<Bean<?>> beans = index != null ? index.getBeans(type) : manager.getBeans(type, Any.Literal.INSTANCE);
+        Set<T> references = beans.stream()
+            .map(bean -> dependents.getReference(type, bean))
+            .collect(toSet());
+        if (index == null || !isNormalScoped(beans))
+            return references;
+        Set<T> result = unmodifiableSet(references);
+        Set<?> previous = byType.putIfAbsent(type, result);
+        return previous != null ? (Set<T>) previous : result;
+    }
+
+    // The references of other beans cannot be cached as each one is a distinct instance
+    private boolean isNormalScoped(Set<Bean<?>> beans) {
+        return beans.stream().allMatch(bean -> manager.isNormalScope(bean.getScope()));
     }
 
     @Override
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.support.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.Vetoed;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the creational contexts of the {@code @Dependent} bean instances that Camel CDI creates on behalf
+ * of a Camel context, through its registry and its injector, so that these instances, and their own dependent
+ * objects, get destroyed when the Camel context stops instead of remaining reachable until the container shuts down.
+ * <p>
+ * By default, a new instance is created and tracked for each lookup. When
+ * {@link CdiCamelConfiguration#cacheDependentBeans(boolean)} is enabled, a single instance is created per bean,
+ * so that the number of tracked instances is bounded by the number of beans.
+ */
+@Vetoed
+@ManagedResource(description = "Managed CdiDependentReferences")
+final class CdiDependentReferences extends ServiceSupport {
+
+    private final Logger logger = LoggerFactory.getLogger(CdiDependentReferences.class);
+
+    private final BeanManager manager;
+
+    private final CdiCamelConfiguration configuration;
+
+    private final Queue<Reference> references = new ConcurrentLinkedQueue<>();
+
+    // Counted apart as the size of the queue is computed by traversal
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ConcurrentMap<Bean<?>, Reference> cache = new ConcurrentHashMap<>();
+
+    CdiDependentReferences(BeanManager manager, CdiCamelConfiguration configuration) {
+        this.manager = manager;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns a contextual reference of the bean, whose creational context is tracked if the bean is {@code @Dependent}.
+     */
+    <T> T getReference(Class<T> type, Bean<?> bean) {
+        if (!Dependent.class.equals(bean.getScope()))
+            return BeanManagerHelper.getReference(manager, type, bean);
+
+        if (!configuration.cacheDependentBeans())
+            return type.cast(track(create(type, bean)).instance);
+
+        // Not computed atomically as the creation of the instance may look up other dependent beans
+        Reference reference = cache.get(bean);
+        if (reference == null) {
+            // The instance of a dependent bean is not proxied so that it's assignable to all the bean types
+            reference = create(Object.class, bean);
+            Reference previous = cache.putIfAbsent(bean, reference);
+            if (previous != null) {
+                release(reference);
+                reference = previous;
+            } else {
+                track(reference);
+            }
+        }
+        return type.cast(reference.instance);
+    }
+
+    private Reference create(Class<?> type, Bean<?> bean) {
+        CreationalContext<?> context = manager.createCreationalContext(bean);
+        return new Reference(manager.getReference(bean, type, context), context);
+    }
+
+    private Reference track(Reference reference) {
+        references.add(reference);
+        count.incrementAndGet();
+        return reference;
+    }
+
+    /**
+     * Returns the number of {@code @Dependent} bean instances tracked.
+     */
+    @ManagedAttribute(description = "Number of dependent bean instances tracked")
+    public int getDependentInstances() {
+        return count.get();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        logger.debug("Releasing [{}] dependent bean instances", count.get());
+        cache.clear();
+        Reference reference;
+        while ((reference = references.poll()) != null) {
+            count.decrementAndGet();
+            release(reference);
+        }
+    }
+
+    private void release(Reference reference) {
+        try {
+            reference.context.release();
+        } catch (RuntimeException cause) {
+            logger.warn("Error while releasing dependent bean instance [{}]", reference.instance, cause);
+        }
+    }
+
+    private static final class Reference {
+
+        private final Object instance;
+
+        private final CreationalContext<?> context;
+
+        private Reference(Object instance, CreationalContext<?> context) {
+            this.instance = instance;
+            this.context = context;
+        }
+    }
+}
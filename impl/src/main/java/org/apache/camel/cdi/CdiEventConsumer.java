@@ -17,19 +17,64 @@
 package org.apache.camel.cdi;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
 import org.apache.camel.Processor;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.impl.DefaultConsumer;
 import org.apache.camel.management.event.AbstractExchangeEvent;
+import org.apache.camel.spi.ShutdownAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-final class CdiEventConsumer<T> extends DefaultConsumer {
+import javax.enterprise.inject.spi.EventMetadata;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+final class CdiEventConsumer<T> extends DefaultConsumer implements ShutdownAware {
 
     private final Logger logger = LoggerFactory.getLogger(CdiEventConsumer.class);
 
     private final CdiEventEndpoint<T> endpoint;
 
+    // Bound method references allocate on each evaluation so they are created once
+    private final Consumer<Exchange> syncProcessor = this::process;
+
+    private final Consumer<Exchange> asyncProcessor = this::processAsync;
+
+    // Either a single queue drained by the concurrent consumers or a queue per lane drained by a single thread
+    private volatile CdiEventQueue[] queues;
+
+    private Expression laneKey;
+
+    private ExecutorService executor;
+
+    // The number of threads draining each queue
+    private int drainers;
+
+    private volatile CdiEventJournal journal;
+
+    private final Object batchLock = new Object();
+
+    private volatile int batchSize;
+
+    private List<T> batch;
+
+    private ScheduledFuture<?> batchTimeout;
+
+    private ScheduledExecutorService scheduler;
+
     CdiEventConsumer(CdiEventEndpoint<T> endpoint, Processor processor) {
         super(endpoint, processor);
         this.endpoint = endpoint;
@@ -38,33 +83,264 @@ final class CdiEventConsumer<T> extends DefaultConsumer {
     @Override
     protected void doStart() throws Exception {
         super.doStart();
+        int consumers = endpoint.getConcurrentConsumers();
+        int lanes = endpoint.getLanes();
+        batchSize = endpoint.getBatchSize();
+        if (lanes > 0 && (consumers > 0 || batchSize > 0))
+            throw new IllegalArgumentException("Lanes cannot be combined with concurrent consumers or batches for " + endpoint);
+        if (lanes > 0 && endpoint.getLaneKey() == null)
+            throw new IllegalArgumentException("Lane key must be set when lanes are enabled for " + endpoint);
+        File journalDirectory = endpoint.getJournalDirectory();
+        if (journalDirectory != null && (consumers > 0 || lanes > 0 || batchSize > 0))
+            throw new IllegalArgumentException("Journal cannot be combined with concurrent consumers, lanes or batches for " + endpoint);
+
+        queues = null;
+        journal = null;
+        laneKey = lanes > 0 ? endpoint.getLaneKey() : null;
+        if (consumers > 0) {
+            CdiEventQueue queue = new CdiEventQueue(endpoint.getQueueSize(), endpoint.getOverflowPolicy());
+            executor = endpoint.getCamelContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, endpoint.getEndpointUri(), consumers);
+            for (int i = 0; i < consumers; i++)
+                executor.execute(() -> queue.drain(asyncProcessor));
+            queues = new CdiEventQueue[] {queue};
+            drainers = consumers;
+        } else if (lanes > 0) {
+            CdiEventQueue[] queues = new CdiEventQueue[lanes];
+            executor = endpoint.getCamelContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, endpoint.getEndpointUri(), lanes);
+            for (int i = 0; i < lanes; i++) {
+                CdiEventQueue lane = new CdiEventQueue(endpoint.getQueueSize(), endpoint.getOverflowPolicy());
+                executor.execute(() -> lane.drain(asyncProcessor));
+                queues[i] = lane;
+            }
+            this.queues = queues;
+            drainers = 1;
+        } else if (journalDirectory != null) {
+            CdiEventJournal journal = new CdiEventJournal(journalDirectory.toPath(), endpoint.getJournalSegmentSize(),
+                endpoint.getCamelContext().getApplicationContextClassLoader());
+            executor = endpoint.getCamelContext().getExecutorServiceManager()
+                .newSingleThreadExecutor(this, endpoint.getEndpointUri() + " journal");
+            executor.execute(() -> replay(journal));
+            this.journal = journal;
+        }
+
+        if (batchSize > 0)
+            scheduler = endpoint.getCamelContext().getExecutorServiceManager()
+                .newSingleThreadScheduledExecutor(this, endpoint.getEndpointUri() + " batch timeout");
         endpoint.addConsumer(this);
     }
 
     @Override
     protected void doStop() throws Exception {
         endpoint.removeConsumer(this);
+        ScheduledExecutorService scheduler;
+        List<T> events;
+        synchronized (batchLock) {
+            // The events still notified get dispatched right away from now on
+            scheduler = this.scheduler;
+            this.scheduler = null;
+            events = batch;
+            batch = null;
+        }
+        if (scheduler != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownNow(scheduler);
+            // Flush the pending batch, if any
+            if (events != null)
+                dispatch(getEndpoint().createExchange(), events, containsExchangeEvent(events), asyncProcessor);
+        }
+        if (journal != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownNow(executor);
+            // Wait for the exchange being processed, if any, before releasing the journal
+            executor.awaitTermination(endpoint.getCamelContext().getShutdownStrategy().getTimeout(),
+                endpoint.getCamelContext().getShutdownStrategy().getTimeUnit());
+            executor = null;
+            journal.close();
+        } else if (executor != null) {
+            // Let the threads process the events already queued before completing
+            for (CdiEventQueue queue : queues)
+                queue.close(drainers);
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownGraceful(executor,
+                endpoint.getCamelContext().getShutdownStrategy().getTimeUnit()
+                    .toMillis(endpoint.getCamelContext().getShutdownStrategy().getTimeout()));
+            executor = null;
+            int pending = getQueueDepth();
+            if (pending > 0)
+                logger.warn("Discarding [{}] pending CDI events on stopping {}", pending, this);
+        }
         super.doStop();
     }
 
-    void notify(T event) {
+    @Override
+    public boolean deferShutdown(ShutdownRunningTask shutdownRunningTask) {
+        // Keep consuming the events until the queued ones have been processed
+        return true;
+    }
+
+    @Override
+    public int getPendingExchangesSize() {
+        return getQueueDepth();
+    }
+
+    @Override
+    public void prepareShutdown(boolean suspendOnly, boolean forced) {
+        // The queued events are drained when stopping
+    }
+
+    int getQueueDepth() {
+        int depth = 0;
+        CdiEventQueue[] queues = this.queues;
+        if (queues != null)
+            for (CdiEventQueue queue : queues)
+                depth += queue.size();
+        return depth;
+    }
+
+    long getRejectedCount() {
+        long rejected = 0L;
+        CdiEventQueue[] queues = this.queues;
+        if (queues != null)
+            for (CdiEventQueue queue : queues)
+                rejected += queue.getRejectedCount();
+        return rejected;
+    }
+
+    /**
+     * Returns the lane queues or an empty array if lanes are not enabled.
+     */
+    CdiEventQueue[] getLanes() {
+        CdiEventQueue[] queues = this.queues;
+        return queues != null && laneKey != null ? queues : new CdiEventQueue[0];
+    }
+
+    void notify(T event, EventMetadata metadata) {
         logger.debug("Consuming CDI event [{}] with {}", event, this);
 
-        Exchange exchange = getEndpoint().createExchange();
-        // TODO: propagate the event metadata
-        exchange.getIn().setBody(event);
+        CdiEventJournal journal = this.journal;
+        if (journal != null) {
+            try {
+                if (!journal.append(event))
+                    logger.warn("Discarding CDI event [{}] fired while stopping {}", event, this);
+            } catch (IOException cause) {
+                throw new RuntimeCamelException("Error while journaling CDI event [" + event + "]", cause);
+            }
+        } else if (batchSize > 0) {
+            batch(event);
+        } else {
+            Exchange exchange = getEndpoint().createExchange();
+            exchange.setIn(new CdiEventMessage(metadata));
+            dispatch(exchange, event, event instanceof AbstractExchangeEvent, syncProcessor);
+        }
+    }
+
+    private void batch(T event) {
+        List<T> events = null;
+        synchronized (batchLock) {
+            if (scheduler == null) {
+                // The consumer is stopping so the event cannot be batched anymore
+                events = singletonList(event);
+            } else {
+                if (batch == null) {
+                    batch = new ArrayList<>(batchSize);
+                    List<T> current = batch;
+                    batchTimeout = scheduler.schedule(() -> flush(current), endpoint.getBatchTimeout(), MILLISECONDS);
+                }
+                batch.add(event);
+                if (batch.size() >= batchSize) {
+                    events = batch;
+                    batch = null;
+                    batchTimeout.cancel(false);
+                }
+            }
+        }
+        if (events != null)
+            dispatch(getEndpoint().createExchange(), events, containsExchangeEvent(events), syncProcessor);
+    }
+
+    private void flush(List<T> events) {
+        synchronized (batchLock) {
+            // The batch may have been completed by size in the meantime
+            if (batch != events)
+                return;
+            batch = null;
+        }
+        dispatch(getEndpoint().createExchange(), events, containsExchangeEvent(events), asyncProcessor);
+    }
+
+    private void replay(CdiEventJournal journal) {
+        try {
+            while (true) {
+                Object event;
+                try {
+                    event = journal.take();
+                } catch (ClassNotFoundException | IOException | RuntimeException cause) {
+                    // Skip the events that cannot be read so that they do not get replayed indefinitely
+                    getExceptionHandler().handleException("Error while reading journaled CDI event", cause);
+                    journal.commit();
+                    continue;
+                }
+                if (event == null)
+                    return;
+                dispatch(getEndpoint().createExchange(), event, event instanceof AbstractExchangeEvent, asyncProcessor);
+                // The event gets replayed after restart if its processing has been interrupted
+                if (Thread.currentThread().isInterrupted())
+                    return;
+                journal.commit();
+            }
+        } catch (InterruptedException cause) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-        // Avoid infinite loop of exchange events
-        if (event instanceof AbstractExchangeEvent)
+    private void dispatch(Exchange exchange, Object body, boolean exchangeEvent, Consumer<Exchange> processor) {
+        exchange.getIn().setBody(body);
+
+        // Avoid infinite loop of exchange events. The property is only set for exchange events and
+        // never reset as the exchange is not reused once processed, so that other events do not
+        // pay for the exchange properties allocation.
+        if (exchangeEvent)
             exchange.setProperty(Exchange.NOTIFY_EVENT, Boolean.TRUE);
 
+        CdiEventQueue[] queues = this.queues;
+        if (queues == null)
+            processor.accept(exchange);
+        else if (queues.length == 1)
+            queues[0].offer(exchange);
+        else
+            queues[lane(exchange, queues.length)].offer(exchange);
+    }
+
+    private int lane(Exchange exchange, int lanes) {
+        Object key = laneKey.evaluate(exchange, Object.class);
+        if (key == null)
+            return 0;
+        // Spread the hash code bits as keys may have poor hash codes in the lower bits
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes);
+    }
+
+    private static boolean containsExchangeEvent(List<?> events) {
+        for (Object event : events)
+            if (event instanceof AbstractExchangeEvent)
+                return true;
+        return false;
+    }
+
+    private void process(Exchange exchange) {
         try {
             getProcessor().process(exchange);
         } catch (Exception cause) {
             throw new RuntimeExchangeException("Error while processing CDI event", exchange, cause);
-        } finally {
-            if (event instanceof AbstractExchangeEvent)
-                exchange.setProperty(Exchange.NOTIFY_EVENT, Boolean.FALSE);
         }
     }
+
+    private void processAsync(Exchange exchange) {
+        try {
+            getProcessor().process(exchange);
+        } catch (Exception cause) {
+            exchange.setException(cause);
+        }
+        if (exchange.getException() != null)
+            getExceptionHandler().handleException("Error while processing CDI event", exchange, exchange.getException());
+    }
 }
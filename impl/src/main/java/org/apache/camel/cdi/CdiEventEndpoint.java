@@ -18,27 +18,36 @@ package org.apache.camel.cdi;
 
 import org.apache.camel.Consumer;
 import org.apache.camel.Endpoint;
+import org.apache.camel.Expression;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.impl.DefaultEndpoint;
 
 import javax.enterprise.event.Event;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Vetoed;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.EventMetadata;
+import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.Unmanaged;
 import javax.enterprise.util.TypeLiteral;
 import javax.inject.Inject;
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.joining;
 
 /**
@@ -92,10 +101,147 @@ import static java.util.stream.Collectors.joining;
  *      logger.info("Camel context 'foo'{@literal >} CDI event: {}", event);
  *  }
  * </code></pre>
+ *
+ * The metadata of the CDI events consumed are available as the {@link #EVENT_METADATA}, {@link #EVENT_QUALIFIERS},
+ * {@link #EVENT_TYPE} and {@link #EVENT_INJECTION_POINT} headers, which are evaluated lazily on first access
+ * to the exchange headers, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}String{@literal >} cdiEventEndpoint;
+ *
+ *  from(cdiEventEndpoint)
+ *      .choice()
+ *          .when(exchange -{@literal >} exchange.getIn().getHeader(EVENT_QUALIFIERS, Set.class).contains(new FooQualifier.Literal()))
+ *              .to("direct:foo")
+ *          .otherwise()
+ *              .to("direct:other");
+ * </code></pre>
+ *
+ * The CDI events can be filtered before being consumed, so that the events that are not of interest are discarded
+ * before any exchange gets created, which is especially useful for {@code CdiEventEndpoint<Object>}, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}Object{@literal >} cdiEventEndpoint;
+ *
+ *  cdiEventEndpoint.setFilter(event -{@literal >} event instanceof DomainEvent);
+ *  from(cdiEventEndpoint).log("Domain event received: ${body}");
+ * </code></pre>
+ *
+ * The predicate can also be declared on the injection point with the {@link EventFilter} annotation.
+ *
+ * By default, the CDI events are consumed synchronously, that is, the Camel route is executed by the thread
+ * that fires the CDI event. The consumption can be made asynchronous by setting the number of concurrent consumers,
+ * in which case the CDI events are handed off to a bounded queue that's drained by a pool of consumer threads, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}String{@literal >} cdiEventEndpoint;
+ *
+ *  cdiEventEndpoint.setConcurrentConsumers(4);
+ *  cdiEventEndpoint.setQueueSize(10000);
+ *  cdiEventEndpoint.setOverflowPolicy(CdiEventOverflowPolicy.DropOldest);
+ *  from(cdiEventEndpoint).log("CDI event received asynchronously: ${body}");
+ * </code></pre>
+ *
+ * The CDI events can also be partitioned onto ordered lanes, each drained by a single thread, so that events
+ * with the same key are processed in order while events with different keys are processed in parallel, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}OrderEvent{@literal >} cdiEventEndpoint;
+ *
+ *  cdiEventEndpoint.setLanes(8);
+ *  cdiEventEndpoint.setLaneKey(simple("${body.orderId}"));
+ *  from(cdiEventEndpoint).log("CDI event received in order: ${body}");
+ * </code></pre>
+ *
+ * High-rate CDI events can be aggregated into batches, in which case the exchange body is the {@code List<T>}
+ * of the events and is sent when the batch size is reached or the batch timeout elapses, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}String{@literal >} cdiEventEndpoint;
+ *
+ *  cdiEventEndpoint.setBatchSize(500);
+ *  cdiEventEndpoint.setBatchTimeout(100);
+ *  from(cdiEventEndpoint).log("Batch of ${body.size} CDI events received");
+ * </code></pre>
+ *
+ * Conversely, the CDI events can be fired asynchronously, in which case the asynchronous observers get notified
+ * and the exchange completes once they have all been notified, without blocking the route thread, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}String{@literal >} cdiEventEndpoint;
+ *
+ *  cdiEventEndpoint.setFireAsync(true);
+ *  from("direct:event").to(cdiEventEndpoint).log("CDI event sent asynchronously: ${body}");
+ *
+ *  void observeCdiEvents({@literal @}ObservesAsync String event) {
+ *      logger.info("CDI event: {}", event);
+ *  }
+ * </code></pre>
+ *
+ * Exchanges whose body is an {@code Iterable}, an array or a {@code Stream} of events can be fired in bulk,
+ * each element being fired as an individual CDI event, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}String{@literal >} cdiEventEndpoint;
+ *
+ *  cdiEventEndpoint.setBulk(true);
+ *  from("direct:events").to(cdiEventEndpoint).log("${header.CamelCdiEventFiredCount} CDI events sent");
+ * </code></pre>
+ *
+ * Bursts of CDI events can be absorbed, and the events not yet processed replayed after a restart, by appending
+ * them to a journal of memory-mapped files that's tailed by the consumer, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}OrderEvent{@literal >} cdiEventEndpoint;
+ *
+ *  cdiEventEndpoint.setJournalDirectory(new File("data/journal/orders"));
+ *  from(cdiEventEndpoint).log("CDI event received: ${body}");
+ * </code></pre>
+ *
+ * The CDI events can also be consumed from reactive pipelines, with backpressure, by subscribing to
+ * the Reactive Streams publisher of the endpoint, see {@link CdiEventPublisher}, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}String{@literal >} cdiEventEndpoint;
+ *
+ *  cdiEventEndpoint.setQueueSize(100);
+ *  cdiEventEndpoint.setOverflowPolicy(CdiEventOverflowPolicy.DropOldest);
+ *  Flowable.fromPublisher(CdiEventPublisher.of(cdiEventEndpoint)).subscribe(event -{@literal >} logger.info("CDI event: {}", event));
+ * </code></pre>
  */
+@ManagedResource(description = "Managed CdiEventEndpoint")
 public final class CdiEventEndpoint<T> extends DefaultEndpoint {
 
-    private final List<CdiEventConsumer<T>> consumers = new ArrayList<>();
+    /**
+     * The header holding the {@link EventMetadata} of the CDI event consumed.
+     */
+    public static final String EVENT_METADATA = "CamelCdiEventMetadata";
+
+    /**
+     * The header holding the {@code Set<Annotation>} of the qualifiers the CDI event consumed has been fired with.
+     */
+    public static final String EVENT_QUALIFIERS = "CamelCdiEventQualifiers";
+
+    /**
+     * The header holding the {@link InjectionPoint} of the {@code Event} the CDI event consumed has been fired
+     * with, if any.
+     */
+    public static final String EVENT_INJECTION_POINT = "CamelCdiEventInjectionPoint";
+
+    /**
+     * The header holding the runtime {@link Type} of the CDI event consumed.
+     */
+    public static final String EVENT_TYPE = "CamelCdiEventType";
+
+    /**
+     * The header holding the number of CDI events fired from the elements of the exchange body in bulk mode.
+     */
+    public static final String EVENT_FIRED_COUNT = "CamelCdiEventFiredCount";
+
+    // Copy-on-write so that events get dispatched to a snapshot of the consumers without locking
+    private final List<CdiEventConsumer<T>> consumers = new CopyOnWriteArrayList<>();
+
+    private final List<CdiEventSubscription<T>> subscriptions = new CopyOnWriteArrayList<>();
 
     private final Type type;
 
@@ -103,6 +249,36 @@ public final class CdiEventEndpoint<T> extends DefaultEndpoint {
 
     private final BeanManager manager;
 
+    private volatile Event<T> event;
+
+    private Unmanaged.UnmanagedInstance<AnyEvent> anyEvent;
+
+    private volatile Predicate<? super T> filter;
+
+    private int concurrentConsumers;
+
+    private int queueSize = 1000;
+
+    private CdiEventOverflowPolicy overflowPolicy = CdiEventOverflowPolicy.Block;
+
+    private int lanes;
+
+    private Expression laneKey;
+
+    private int batchSize;
+
+    private long batchTimeout = 1000L;
+
+    private boolean fireAsync;
+
+    private boolean bulk;
+
+    private Executor notificationExecutor;
+
+    private File journalDirectory;
+
+    private int journalSegmentSize = 16 * 1024 * 1024;
+
     CdiEventEndpoint(String endpointUri, Type type, Set<Annotation> qualifiers, BeanManager manager) {
         super(endpointUri);
         this.type = type;
@@ -139,6 +315,352 @@ public final class CdiEventEndpoint<T> extends DefaultEndpoint {
         return type;
     }
 
+    /**
+     * Returns the predicate the CDI events are filtered with before being consumed, if any.
+     */
+    public Predicate<? super T> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Sets the predicate the CDI events are filtered with before being consumed. The predicate is evaluated
+     * by the observer method of the endpoint, before any exchange gets created, so that the events that do not
+     * match the predicate are discarded at almost no cost. It can be any {@code Predicate<T>} bean, e.g.:
+     * <pre><code>
+     * {@literal @}Inject
+     *  Predicate{@literal <}Object{@literal >} filter;
+     *
+     *  cdiEventEndpoint.setFilter(filter);
+     * </code></pre>
+     */
+    public void setFilter(Predicate<? super T> filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Returns the number of threads consuming the CDI events asynchronously.
+     */
+    @ManagedAttribute(description = "Number of concurrent consumer threads")
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    /**
+     * Sets the number of threads consuming the CDI events asynchronously. The default value {@code 0}
+     * means the CDI events are consumed synchronously by the thread that fires them.
+     * The new value takes effect when the consumers get started.
+     */
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        if (concurrentConsumers < 0)
+            throw new IllegalArgumentException("Concurrent consumers must be positive or zero, was [" + concurrentConsumers + "]");
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
+    /**
+     * Returns the capacity of the queue of each asynchronous consumer and of the buffer of each subscriber.
+     */
+    @ManagedAttribute(description = "Capacity of the asynchronous consumer queue")
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Sets the capacity of the queue of each asynchronous consumer and of the buffer of each subscriber.
+     * Default value is {@code 1000}.
+     */
+    public void setQueueSize(int queueSize) {
+        if (queueSize < 1)
+            throw new IllegalArgumentException("Queue size must be strictly positive, was [" + queueSize + "]");
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Returns the policy applied when a CDI event is fired while the queue of an asynchronous consumer,
+     * or the buffer of a subscriber, is full.
+     */
+    public CdiEventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the policy applied when a CDI event is fired while the queue of an asynchronous consumer,
+     * or the buffer of a subscriber, is full. Default value is {@link CdiEventOverflowPolicy#Block}.
+     */
+    public void setOverflowPolicy(CdiEventOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = requireNonNull(overflowPolicy);
+    }
+
+    /**
+     * Returns the number of CDI events pending in the queues of the asynchronous consumers.
+     */
+    @ManagedAttribute(description = "Number of CDI events pending in the asynchronous consumer queues")
+    public int getQueueDepth() {
+        int depth = 0;
+        for (CdiEventConsumer<T> consumer : consumers)
+            depth += consumer.getQueueDepth();
+        return depth;
+    }
+
+    /**
+     * Returns the number of CDI events rejected or discarded by the asynchronous consumers and by the subscribers
+     * according to the overflow policy.
+     */
+    @ManagedAttribute(description = "Number of CDI events rejected by the asynchronous consumers and the subscribers")
+    public long getRejectedEvents() {
+        long rejected = 0L;
+        for (CdiEventConsumer<T> consumer : consumers)
+            rejected += consumer.getRejectedCount();
+        for (CdiEventSubscription<T> subscription : subscriptions)
+            rejected += subscription.getRejectedCount();
+        return rejected;
+    }
+
+    /**
+     * Returns the number of active subscribers to the {@link CdiEventPublisher publisher} of this endpoint.
+     */
+    @ManagedAttribute(description = "Number of active subscribers")
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Returns the number of CDI events pending in the buffers of the subscribers, waiting for demand.
+     */
+    @ManagedAttribute(description = "Number of CDI events pending in the subscriber buffers")
+    public int getSubscriberBacklog() {
+        int backlog = 0;
+        for (CdiEventSubscription<T> subscription : subscriptions)
+            backlog += subscription.size();
+        return backlog;
+    }
+
+    /**
+     * Returns the number of ordered lanes the CDI events are partitioned onto.
+     */
+    @ManagedAttribute(description = "Number of ordered lanes")
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Sets the number of ordered lanes the CDI events are partitioned onto. Each lane has its own bounded queue,
+     * sized and with the overflow policy of the endpoint, and is drained by a single thread, so that the events
+     * with the same lane key are processed in order while events with different keys are processed in parallel.
+     * The default value {@code 0} disables the partitioning. Lanes cannot be combined with the concurrent consumers
+     * nor with batches. The new value takes effect when the consumers get started.
+     *
+     * @see #setLaneKey(Expression)
+     */
+    public void setLanes(int lanes) {
+        if (lanes < 0)
+            throw new IllegalArgumentException("Lanes must be positive or zero, was [" + lanes + "]");
+        this.lanes = lanes;
+    }
+
+    /**
+     * Returns the expression that extracts the lane key from the exchanges.
+     */
+    public Expression getLaneKey() {
+        return laneKey;
+    }
+
+    /**
+     * Sets the expression evaluated against each exchange to extract the key whose hash code selects the lane
+     * the exchange is processed by, e.g. {@code simple("${body.aggregateId}")} or {@code method(keyExtractorBean)}.
+     */
+    public void setLaneKey(Expression laneKey) {
+        this.laneKey = laneKey;
+    }
+
+    /**
+     * Returns the number of CDI events pending in each lane.
+     */
+    @ManagedAttribute(description = "Number of CDI events pending in each lane")
+    public long[] getLaneBacklogs() {
+        long[] backlogs = new long[lanes];
+        for (CdiEventConsumer<T> consumer : consumers) {
+            CdiEventQueue[] queues = consumer.getLanes();
+            for (int i = 0; i < Math.min(queues.length, backlogs.length); i++)
+                backlogs[i] += queues[i].size();
+        }
+        return backlogs;
+    }
+
+    /**
+     * Returns the mean time in milliseconds between the CDI events being queued and their processing completion
+     * for each lane.
+     */
+    @ManagedAttribute(description = "Mean latency in milliseconds of each lane")
+    public double[] getLaneMeanLatencies() {
+        long[] latencies = new long[lanes];
+        long[] counts = new long[lanes];
+        for (CdiEventConsumer<T> consumer : consumers) {
+            CdiEventQueue[] queues = consumer.getLanes();
+            for (int i = 0; i < Math.min(queues.length, latencies.length); i++) {
+                latencies[i] += queues[i].getTotalLatency();
+                counts[i] += queues[i].getProcessedCount();
+            }
+        }
+        double[] means = new double[lanes];
+        for (int i = 0; i < means.length; i++)
+            means[i] = counts[i] > 0 ? latencies[i] / (counts[i] * 1e6) : 0d;
+        return means;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds between a CDI event being queued and its processing completion
+     * for each lane.
+     */
+    @ManagedAttribute(description = "Maximum latency in milliseconds of each lane")
+    public long[] getLaneMaxLatencies() {
+        long[] latencies = new long[lanes];
+        for (CdiEventConsumer<T> consumer : consumers) {
+            CdiEventQueue[] queues = consumer.getLanes();
+            for (int i = 0; i < Math.min(queues.length, latencies.length); i++)
+                latencies[i] = Math.max(latencies[i], queues[i].getMaxLatency());
+        }
+        return latencies;
+    }
+
+    /**
+     * Returns the maximum number of CDI events aggregated into a single exchange.
+     */
+    @ManagedAttribute(description = "Maximum number of CDI events per exchange")
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of CDI events aggregated into a single exchange whose body is the {@code List<T>}
+     * of the events. The batch is sent when that number of events is reached or when the batch timeout elapses,
+     * whichever comes first. The default value {@code 0} means that each CDI event is sent into its own exchange.
+     * The new value takes effect when the consumers get started.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 0)
+            throw new IllegalArgumentException("Batch size must be positive or zero, was [" + batchSize + "]");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds a batch of CDI events waits before being sent.
+     */
+    @ManagedAttribute(description = "Maximum time in milliseconds a batch of CDI events waits before being sent")
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds a batch of CDI events waits, since its first event, before being sent.
+     * Default value is {@code 1000}.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        if (batchTimeout < 1)
+            throw new IllegalArgumentException("Batch timeout must be strictly positive, was [" + batchTimeout + "]");
+        this.batchTimeout = batchTimeout;
+    }
+
+    /**
+     * Returns the directory of the journal the CDI events are appended to before being consumed, if any.
+     */
+    public File getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    /**
+     * Sets the directory of the journal the CDI events are appended to before being consumed. The CDI events
+     * get serialized into memory-mapped segment files of that directory by the threads firing them, and read
+     * back by a single consumer thread that checkpoints its position once each event has been processed, so that
+     * bursts are absorbed at memory speed and the events not yet processed get replayed after a restart.
+     * The events must be {@code Serializable} and the {@link #EVENT_METADATA metadata} headers are not available.
+     * The journal cannot be combined with the concurrent consumers, the lanes nor the batches, and a journal
+     * directory can only be used by a single consumer at a time. The default value {@code null} disables the
+     * journal. The new value takes effect when the consumers get started.
+     */
+    public void setJournalDirectory(File journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Returns the size in bytes of the journal segment files.
+     */
+    @ManagedAttribute(description = "Size in bytes of the journal segment files")
+    public int getJournalSegmentSize() {
+        return journalSegmentSize;
+    }
+
+    /**
+     * Sets the size in bytes of the journal segment files, that bounds the size of a serialized CDI event.
+     * A new segment is created when the current one is full and segments get deleted once all their events
+     * have been processed. Default value is {@code 16 MiB}.
+     */
+    public void setJournalSegmentSize(int journalSegmentSize) {
+        if (journalSegmentSize < 1024)
+            throw new IllegalArgumentException("Journal segment size must be at least 1024 bytes, was [" + journalSegmentSize + "]");
+        this.journalSegmentSize = journalSegmentSize;
+    }
+
+    /**
+     * Returns whether the CDI events are fired asynchronously by the producers.
+     */
+    @ManagedAttribute(description = "Whether the CDI events are fired asynchronously")
+    public boolean isFireAsync() {
+        return fireAsync;
+    }
+
+    /**
+     * Sets whether the CDI events are fired asynchronously by the producers, using {@link Event#fireAsync(Object)},
+     * in which case only the asynchronous observers get notified and the exchange completes once they have all
+     * been notified, without blocking the route thread in the meantime. Default value is {@code false}.
+     * The new value takes effect for the producers created afterwards.
+     */
+    public void setFireAsync(boolean fireAsync) {
+        this.fireAsync = fireAsync;
+    }
+
+    /**
+     * Returns whether the elements of {@code Iterable}, array or {@code Stream} bodies are fired as individual
+     * CDI events by the producers.
+     */
+    @ManagedAttribute(description = "Whether the elements of multi-valued bodies are fired as individual CDI events")
+    public boolean isBulk() {
+        return bulk;
+    }
+
+    /**
+     * Sets whether the producers fire each element of an {@code Iterable}, array or {@code Stream} exchange body,
+     * that's not itself an instance of the event type, as an individual CDI event. The elements are fired as they
+     * are iterated, without any intermediate collection, and the number of events fired is set into the
+     * {@link #EVENT_FIRED_COUNT} header. Default value is {@code false}.
+     * The new value takes effect for the producers created afterwards.
+     */
+    public void setBulk(boolean bulk) {
+        this.bulk = bulk;
+    }
+
+    /**
+     * Returns the executor used to notify the asynchronous observers, if any.
+     */
+    public Executor getNotificationExecutor() {
+        return notificationExecutor;
+    }
+
+    /**
+     * Sets the executor used to notify the asynchronous observers when the CDI events are fired asynchronously.
+     * By default, the container default executor is used.
+     */
+    public void setNotificationExecutor(Executor notificationExecutor) {
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    /**
+     * Returns the subscriptions to the publisher of this endpoint, whose type does not appear in the signature
+     * so that the Reactive Streams API remains an optional dependency.
+     */
+    List<CdiEventSubscription<T>> getSubscriptions() {
+        return subscriptions;
+    }
+
     @Override
     public Consumer createConsumer(Processor processor) {
         return new CdiEventConsumer<>(this, processor);
@@ -146,20 +668,51 @@ public final class CdiEventEndpoint<T> extends DefaultEndpoint {
 
     @Override
     public Producer createProducer() throws IllegalAccessException {
-        // FIXME: to be replaced once event firing with dynamic parameterized type
-        // is properly supported (see https://issues.jboss.org/browse/CDI-516)
-        TypeLiteral<T> literal = new TypeLiteral<T>() {};
-        for (Field field : TypeLiteral.class.getDeclaredFields()) {
-            if (field.getType().equals(Type.class)) {
-                field.setAccessible(true);
-                field.set(literal, type);
-                break;
+        return new CdiEventProducer<>(this, event());
+    }
+
+    /**
+     * Returns the {@code Event<T>} handle for the endpoint type and qualifiers, that's resolved once and shared
+     * by all the producers until the endpoint gets stopped.
+     */
+    private Event<T> event() throws IllegalAccessException {
+        Event<T> event = this.event;
+        if (event != null)
+            return event;
+
+        synchronized (this) {
+            if (this.event != null)
+                return this.event;
+
+            // FIXME: to be replaced once event firing with dynamic parameterized type
+            // is properly supported (see https://issues.jboss.org/browse/CDI-516)
+            TypeLiteral<T> literal = new TypeLiteral<T>() {};
+            for (Field field : TypeLiteral.class.getDeclaredFields()) {
+                if (field.getType().equals(Type.class)) {
+                    field.setAccessible(true);
+                    field.set(literal, type);
+                    break;
+                }
             }
+
+            anyEvent = new Unmanaged<>(manager, AnyEvent.class).newInstance().produce().inject().postConstruct();
+            this.event = anyEvent.get().event.select(literal, qualifiers.stream().toArray(Annotation[]::new));
+            return this.event;
         }
+    }
 
-        return new CdiEventProducer<>(this, new Unmanaged<>(manager, AnyEvent.class)
-            .newInstance().produce().inject().get()
-            .event.select(literal, qualifiers.stream().toArray(Annotation[]::new)));
+    @Override
+    protected void doStop() throws Exception {
+        for (CdiEventSubscription<T> subscription : subscriptions)
+            subscription.complete();
+        synchronized (this) {
+            if (anyEvent != null) {
+                anyEvent.preDestroy().dispose();
+                anyEvent = null;
+                event = null;
+            }
+        }
+        super.doStop();
     }
 
     @Vetoed
@@ -176,20 +729,28 @@ public final class CdiEventEndpoint<T> extends DefaultEndpoint {
     }
 
     void addConsumer(CdiEventConsumer<T> consumer) {
-        synchronized (consumers) {
-            consumers.add(consumer);
-        }
+        consumers.add(consumer);
     }
 
     void removeConsumer(CdiEventConsumer<T> consumer) {
-        synchronized (consumers) {
-            consumers.remove(consumer);
-        }
+        consumers.remove(consumer);
     }
 
-    void notify(T t) {
-        synchronized (consumers) {
-            consumers.forEach(consumer -> consumer.notify(t));
-        }
+    void notify(T t, EventMetadata metadata) {
+        if (consumers.isEmpty() && subscriptions.isEmpty())
+            return;
+
+        // Discard the filtered out events before any exchange gets created
+        Predicate<? super T> filter = this.filter;
+        if (filter != null && !filter.test(t))
+            return;
+
+        // Iterates over the snapshot taken at the beginning of the dispatch so that
+        // a consumer can be added or removed, e.g. from within its own route, concurrently
+        for (CdiEventConsumer<T> consumer : consumers)
+            consumer.notify(t, metadata);
+
+        for (CdiEventSubscription<T> subscription : subscriptions)
+            subscription.offer(t);
     }
 }
\ No newline at end of file
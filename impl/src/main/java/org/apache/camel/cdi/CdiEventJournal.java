@@ -0,0 +1,346 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only journal of serialized CDI events, stored into memory-mapped segment files of a local directory
+ * and tailed by a single reader whose position is checkpointed into a memory-mapped file of the same directory,
+ * so that the events appended and not yet committed get replayed after a restart.<p>
+ *
+ * Each record is made of its length, the CRC32 checksum of its content and its content, the length being written
+ * last so that a record is never seen partially written. A segment is rolled over when the next record does not fit
+ * into it, and deleted once no checkpoint refers to it anymore.<p>
+ *
+ * The checkpoint file holds two slots, each made of a segment index, an offset into that segment and the CRC32
+ * checksum of both, that are written alternately so that a torn write of one slot leaves the other one intact.
+ * The most advanced of the valid slots is the reader position to resume from.
+ */
+final class CdiEventJournal implements Closeable {
+
+    private static final String CHECKPOINT = "checkpoint";
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    // The record length and checksum
+    private static final int HEADER = 8;
+
+    // The marker written in place of a record length when the segment has been rolled over
+    private static final int ROLL = -1;
+
+    // The segment index, the offset and their checksum
+    private static final int SLOT = Long.BYTES + 2 * Integer.BYTES;
+
+    private final Logger logger = LoggerFactory.getLogger(CdiEventJournal.class);
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final ClassLoader loader;
+
+    private final FileChannel checkpointChannel;
+
+    private final FileLock directoryLock;
+
+    private final MappedByteBuffer checkpoint;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition appended = lock.newCondition();
+
+    // Guarded by the lock
+    private long writeSegment;
+
+    private MappedByteBuffer writeBuffer;
+
+    private boolean closed;
+
+    // Confined to the reader thread
+    private long readSegment;
+
+    private MappedByteBuffer readBuffer;
+
+    // The checkpoint slot the next commit is written to
+    private int slot;
+
+    // The segment of the last commit
+    private long committedSegment;
+
+    // The first segment that has not been deleted
+    private long retainedSegment;
+
+    CdiEventJournal(Path directory, int segmentSize, ClassLoader loader) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.loader = loader;
+
+        Files.createDirectories(directory);
+        checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT), CREATE, READ, WRITE);
+        try {
+            directoryLock = checkpointChannel.tryLock();
+        } catch (OverlappingFileLockException cause) {
+            checkpointChannel.close();
+            throw new IllegalStateException("Journal directory [" + directory + "] is already in use", cause);
+        }
+        if (directoryLock == null) {
+            checkpointChannel.close();
+            throw new IllegalStateException("Journal directory [" + directory + "] is already in use by another process");
+        }
+        checkpoint = checkpointChannel.map(READ_WRITE, 0, 2 * SLOT);
+
+        int readOffset = 0;
+        for (int i = 0; i < 2; i++) {
+            long segment = checkpoint.getLong(i * SLOT);
+            int offset = checkpoint.getInt(i * SLOT + Long.BYTES);
+            if (checkpoint.getInt(i * SLOT + Long.BYTES + Integer.BYTES) != checksum(segment, offset))
+                continue;
+            if (segment > readSegment || segment == readSegment && offset >= readOffset) {
+                readSegment = segment;
+                readOffset = offset;
+                slot = 1 - i;
+            }
+        }
+        committedSegment = readSegment;
+        retainedSegment = readSegment;
+        writeSegment = readSegment;
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segments) {
+                long index = index(segment);
+                if (index < readSegment)
+                    Files.deleteIfExists(segment);
+                else
+                    writeSegment = Math.max(writeSegment, index);
+            }
+        }
+
+        readBuffer = segment(readSegment);
+        readBuffer.position(readOffset);
+        writeBuffer = segment(writeSegment);
+        recover(writeBuffer, writeSegment == readSegment ? readOffset : 0);
+        logger.debug("Opened CDI event journal [{}] at segment [{}] offset [{}]", directory, readSegment, readOffset);
+    }
+
+    /**
+     * Positions the buffer after the last complete record of the segment and clears its remainder,
+     * which may contain the content of a record that has not been completely written before a crash.
+     */
+    private static void recover(MappedByteBuffer buffer, int offset) {
+        int position = offset;
+        while (buffer.limit() - position >= HEADER) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.limit() - position - HEADER)
+                break;
+            CRC32 crc = new CRC32();
+            for (int i = position + HEADER; i < position + HEADER + length; i++)
+                crc.update(buffer.get(i));
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES))
+                break;
+            position += HEADER + length;
+        }
+        buffer.position(position);
+        for (int i = position; i < buffer.limit(); i++)
+            buffer.put(i, (byte) 0);
+    }
+
+    /**
+     * Appends the serialized event to the journal and returns {@code false} if the journal is closed.
+     */
+    boolean append(Object event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(event);
+        }
+        byte[] record = bytes.toByteArray();
+        if (record.length > segmentSize - HEADER)
+            throw new IllegalArgumentException("Serialized CDI event [" + event + "] of [" + record.length
+                + "] bytes exceeds the journal segment size [" + segmentSize + "]");
+        CRC32 crc = new CRC32();
+        crc.update(record);
+
+        lock.lock();
+        try {
+            if (closed)
+                return false;
+            if (writeBuffer.remaining() < HEADER + record.length) {
+                if (writeBuffer.remaining() >= Integer.BYTES)
+                    writeBuffer.putInt(writeBuffer.position(), ROLL);
+                writeBuffer = segment(++writeSegment);
+            }
+            int position = writeBuffer.position();
+            writeBuffer.position(position + HEADER);
+            writeBuffer.put(record);
+            writeBuffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+            writeBuffer.putInt(position, record.length);
+            appended.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the next event of the journal and returns it or {@code null} if the journal is closed.
+     */
+    Object take() throws InterruptedException, IOException, ClassNotFoundException {
+        while (true) {
+            lock.lockInterruptibly();
+            try {
+                while (readSegment == writeSegment && readBuffer.position() >= writeBuffer.position()) {
+                    if (closed)
+                        return null;
+                    appended.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            int position = readBuffer.position();
+            if (readBuffer.limit() - position < Integer.BYTES || readBuffer.getInt(position) == ROLL) {
+                readBuffer = segment(++readSegment);
+                continue;
+            }
+
+            int length = readBuffer.getInt(position);
+            if (length <= 0 || length > readBuffer.limit() - position - HEADER) {
+                // The next record cannot be located so skip the remainder of what's been appended to the segment
+                lock.lock();
+                try {
+                    readBuffer.position(readSegment == writeSegment ? writeBuffer.position() : readBuffer.limit());
+                } finally {
+                    lock.unlock();
+                }
+                throw new IOException("Invalid record length [" + length + "] at offset [" + position
+                    + "] of CDI event journal segment [" + readSegment + "]");
+            }
+            byte[] record = new byte[length];
+            readBuffer.position(position + HEADER);
+            readBuffer.get(record);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if ((int) crc.getValue() != readBuffer.getInt(position + Integer.BYTES))
+                throw new IOException("Invalid checksum of record at offset [" + position
+                    + "] of CDI event journal segment [" + readSegment + "]");
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(record)) {
+                @Override
+                protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                    if (loader != null) {
+                        try {
+                            return Class.forName(desc.getName(), false, loader);
+                        } catch (ClassNotFoundException cause) {
+                            // Fall back to the default resolution
+                        }
+                    }
+                    return super.resolveClass(desc);
+                }
+            }) {
+                return input.readObject();
+            }
+        }
+    }
+
+    /**
+     * Checkpoints the position of the reader so that the events taken so far are not replayed.
+     */
+    void commit() {
+        // Overwrite the slot of the commit before the last one
+        int offset = readBuffer.position();
+        checkpoint.putLong(slot * SLOT, readSegment);
+        checkpoint.putInt(slot * SLOT + Long.BYTES, offset);
+        checkpoint.putInt(slot * SLOT + Long.BYTES + Integer.BYTES, checksum(readSegment, offset));
+        slot = 1 - slot;
+
+        // Only delete the segments that are behind both slots
+        long previous = committedSegment;
+        committedSegment = readSegment;
+        for (; retainedSegment < previous; retainedSegment++) {
+            try {
+                Files.deleteIfExists(directory.resolve(name(retainedSegment)));
+            } catch (IOException cause) {
+                logger.debug("Failed to delete CDI event journal segment [{}]", retainedSegment, cause);
+            }
+        }
+    }
+
+    private static int checksum(long segment, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(segment).putInt(offset).array());
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed)
+                return;
+            closed = true;
+            appended.signalAll();
+            writeBuffer.force();
+            checkpoint.force();
+        } finally {
+            lock.unlock();
+        }
+        directoryLock.release();
+        checkpointChannel.close();
+        logger.debug("Closed CDI event journal [{}]", directory);
+    }
+
+    private MappedByteBuffer segment(long index) throws IOException {
+        // The mapping remains valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(directory.resolve(name(index)), CREATE, READ, WRITE)) {
+            return channel.map(READ_WRITE, 0, Math.max(segmentSize, channel.size()));
+        }
+    }
+
+    private static String name(long index) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    private static long index(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.impl.DefaultMessage;
+
+import javax.enterprise.inject.spi.EventMetadata;
+import java.util.Map;
+
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_INJECTION_POINT;
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_METADATA;
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_QUALIFIERS;
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_TYPE;
+
+/**
+ * The message of the exchanges created for the CDI events consumed, whose headers are populated
+ * lazily from the event metadata, so that routes that do not access the headers do not pay for it.
+ */
+final class CdiEventMessage extends DefaultMessage {
+
+    private final EventMetadata metadata;
+
+    CdiEventMessage(EventMetadata metadata) {
+        this.metadata = metadata;
+    }
+
+    @Override
+    protected void populateInitialHeaders(Map<String, Object> map) {
+        map.put(EVENT_METADATA, metadata);
+        map.put(EVENT_QUALIFIERS, metadata.getQualifiers());
+        map.put(EVENT_TYPE, metadata.getType());
+        if (metadata.getInjectionPoint() != null)
+            map.put(EVENT_INJECTION_POINT, metadata.getInjectionPoint());
+    }
+}
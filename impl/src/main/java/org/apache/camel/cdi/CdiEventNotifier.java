@@ -16,61 +16,277 @@
  */
 package org.apache.camel.cdi;
 
+import org.apache.camel.CamelContext;
+import org.apache.camel.Route;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.management.event.AbstractContextEvent;
+import org.apache.camel.management.event.AbstractExchangeEvent;
+import org.apache.camel.management.event.AbstractRouteEvent;
+import org.apache.camel.management.event.ExchangeCompletedEvent;
+import org.apache.camel.management.event.ExchangeCreatedEvent;
+import org.apache.camel.management.event.ExchangeFailedEvent;
+import org.apache.camel.management.event.ExchangeFailureHandledEvent;
+import org.apache.camel.management.event.ExchangeFailureHandlingEvent;
+import org.apache.camel.management.event.ExchangeRedeliveryEvent;
+import org.apache.camel.management.event.ExchangeSendingEvent;
+import org.apache.camel.management.event.ExchangeSentEvent;
 import org.apache.camel.management.event.RouteAddedEvent;
 import org.apache.camel.management.event.RouteRemovedEvent;
 import org.apache.camel.management.event.RouteStartedEvent;
 import org.apache.camel.management.event.RouteStoppedEvent;
+import org.apache.camel.management.event.ServiceStartupFailureEvent;
+import org.apache.camel.management.event.ServiceStopFailureEvent;
+import org.apache.camel.cdi.CdiEventSampling.Sampler;
 import org.apache.camel.support.EventNotifierSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.enterprise.inject.literal.NamedLiteral;
 import javax.enterprise.inject.spi.BeanManager;
 import java.lang.annotation.Annotation;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.EventObject;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.apache.camel.util.ObjectHelper.isNotEmpty;
 
+@ManagedResource(description = "Managed CdiEventNotifier")
 final class CdiEventNotifier extends EventNotifierSupport {
 
+    // The sentinel enqueued on stop once the pending events have been enqueued
+    private static final EventObject STOP = new EventObject(CdiEventNotifier.class);
+
+    // The route events fired with the route id as an additional @Named qualifier
+    private static final Map<Class<?>, Function<EventObject, Route>> ROUTE_EVENTS = new HashMap<>();
+
+    static {
+        Function<EventObject, Route> route = event -> ((AbstractRouteEvent) event).getRoute();
+        ROUTE_EVENTS.put(RouteAddedEvent.class, route);
+        ROUTE_EVENTS.put(RouteStartedEvent.class, route);
+        ROUTE_EVENTS.put(RouteStoppedEvent.class, route);
+        ROUTE_EVENTS.put(RouteRemovedEvent.class, route);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CdiEventNotifier.class);
+
     private final BeanManager manager;
 
+    private final CamelContext context;
+
     private final Annotation[] qualifiers;
 
-    CdiEventNotifier(BeanManager manager, Collection<Annotation> qualifiers) {
+    // The qualifiers per route id, evicted once the route is removed
+    private final ConcurrentMap<String, Annotation[]> routeQualifiers = new ConcurrentHashMap<>();
+
+    private final Set<Class<?>> observed;
+
+    private final CdiCamelConfigurationEvent configuration;
+
+    // The queue of the events fired asynchronously, in order, by a single thread, if enabled
+    private final BlockingQueue<EventObject> queue;
+
+    private final LongAdder dropped = new LongAdder();
+
+    // The samplers per event class, if sampling is configured
+    private final ConcurrentMap<Class<?>, Optional<Sampler>> samplers;
+
+    // Bound method references allocate on each evaluation so it is created once
+    private final Consumer<EventObject> publisher = this::publish;
+
+    private ExecutorService executor;
+
+    private ScheduledExecutorService scheduler;
+
+    // Whether an event class is assignable to one of the observed event classes, computed once per class
+    private final ClassValue<Boolean> enabled = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return observed.stream().anyMatch(event -> event.isAssignableFrom(type));
+        }
+    };
+
+    CdiEventNotifier(BeanManager manager, CamelContext context, Collection<Annotation> qualifiers, Set<Class<?>> observed, CdiCamelConfigurationEvent configuration) {
         this.manager = manager;
+        this.context = context;
         this.qualifiers = qualifiers.toArray(new Annotation[qualifiers.size()]);
-        // TODO: be more fine grained for the kind of events that are emitted depending on the observed event types
+        this.observed = observed;
+        this.configuration = configuration;
+        this.queue = configuration.asyncEventNotification()
+            ? new ArrayBlockingQueue<>(configuration.eventNotificationQueueSize())
+            : null;
+        this.samplers = configuration.hasEventSampling() ? new ConcurrentHashMap<>() : null;
+
+        // Let Camel skip the creation of the events that are not observed
+        setIgnoreCamelContextEvents(!observes(AbstractContextEvent.class));
+        setIgnoreRouteEvents(!observes(AbstractRouteEvent.class));
+        setIgnoreServiceEvents(!observes(ServiceStartupFailureEvent.class, ServiceStopFailureEvent.class));
+        setIgnoreExchangeEvents(!observes(AbstractExchangeEvent.class));
+        setIgnoreExchangeCreatedEvent(!observes(ExchangeCreatedEvent.class));
+        setIgnoreExchangeCompletedEvent(!observes(ExchangeCompletedEvent.class));
+        setIgnoreExchangeFailedEvents(!observes(ExchangeFailedEvent.class, ExchangeFailureHandlingEvent.class, ExchangeFailureHandledEvent.class));
+        setIgnoreExchangeRedeliveryEvents(!observes(ExchangeRedeliveryEvent.class));
+        setIgnoreExchangeSendingEvents(!observes(ExchangeSendingEvent.class));
+        setIgnoreExchangeSentEvents(!observes(ExchangeSentEvent.class));
+    }
+
+    /**
+     * Returns whether an event of one of the given types, or of one of their subtypes, is observed.
+     */
+    private boolean observes(Class<?>... types) {
+        return Stream.of(types).anyMatch(type -> observed.stream()
+            .anyMatch(event -> event.isAssignableFrom(type) || type.isAssignableFrom(event)));
+    }
+
+    /**
+     * Returns the number of Camel events dropped as the queue was full when notified asynchronously.
+     */
+    @ManagedAttribute(description = "Number of Camel events dropped as the asynchronous notification queue was full")
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the ratio of the Camel events of the given type fired over the Camel events emitted,
+     * so that the actual number of events can be extrapolated from the sampled ones.
+     */
+    @ManagedOperation(description = "Ratio of the Camel events of the given type fired to the CDI observers")
+    public double samplingRate(String type) {
+        if (samplers != null)
+            for (Map.Entry<Class<?>, Optional<Sampler>> sampler : samplers.entrySet())
+                if (sampler.getKey().getName().equals(type) || sampler.getKey().getSimpleName().equals(type))
+                    return sampler.getValue().map(Sampler::getRate).orElse(1d);
+        return 1d;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (queue != null) {
+            executor = context.getExecutorServiceManager().newSingleThreadExecutor(this, "CdiEventNotifier");
+            executor.execute(this::deliver);
+        }
+        if (samplers != null)
+            scheduler = context.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "CdiEventNotifier sampling");
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (scheduler != null) {
+            context.getExecutorServiceManager().shutdownNow(scheduler);
+            scheduler = null;
+            // Fire the events sampled so far by the samplers that defer them
+            for (Optional<Sampler> sampler : samplers.values())
+                sampler.ifPresent(s -> s.flush(publisher));
+            samplers.clear();
+        }
+        if (executor != null) {
+            // Let the pending events be delivered before the thread gets shut down
+            queue.put(STOP);
+            context.getExecutorServiceManager().shutdownGraceful(executor);
+            executor = null;
+        }
     }
 
     @Override
     public void notify(EventObject event) {
-        String id = null;
-
-        if (event instanceof RouteAddedEvent) {
-            id = ((RouteAddedEvent) event).getRoute().getId();
-        } else if (event instanceof RouteStartedEvent) {
-            id = ((RouteStartedEvent) event).getRoute().getId();
-        } else if (event instanceof RouteStoppedEvent) {
-            id = ((RouteStoppedEvent) event).getRoute().getId();
-        } else if (event instanceof RouteRemovedEvent) {
-            id = ((RouteRemovedEvent) event).getRoute().getId();
+        if (samplers == null) {
+            publish(event);
+            return;
         }
+        Optional<Sampler> sampler = samplers.computeIfAbsent(event.getClass(), this::sampler);
+        if (sampler.isPresent())
+            sampler.get().offer(event, publisher);
+        else
+            publish(event);
+    }
+
+    /**
+     * Creates the sampler for the given event class, according to the most specific sampling policy
+     * configured for that class or one of its super classes, if any.
+     */
+    private Optional<Sampler> sampler(Class<?> type) {
+        for (Class<?> clazz = type; EventObject.class.isAssignableFrom(clazz); clazz = clazz.getSuperclass()) {
+            @SuppressWarnings("unchecked")
+            CdiEventSampling sampling = configuration.eventSampling(context.getName(), (Class<? extends EventObject>) clazz);
+            if (sampling != null) {
+                Sampler sampler = sampling.newSampler(context);
+                if (sampling.getWindow() > 0 && scheduler != null)
+                    scheduler.scheduleAtFixedRate(() -> {
+                        try {
+                            sampler.flush(publisher);
+                        } catch (RuntimeException cause) {
+                            logger.warn("Error while firing sampled Camel events to CDI observers", cause);
+                        }
+                    }, sampling.getWindow(), sampling.getWindow(), MILLISECONDS);
+                return Optional.of(sampler);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void publish(EventObject event) {
+        if (queue == null) {
+            fire(event);
+        } else if (!queue.offer(event)) {
+            dropped.increment();
+            logger.debug("Dropping Camel event [{}] as the notification queue is full", event);
+        }
+    }
+
+    private void deliver() {
+        try {
+            while (true) {
+                EventObject event = queue.take();
+                if (event == STOP)
+                    return;
+                try {
+                    fire(event);
+                } catch (RuntimeException cause) {
+                    logger.warn("Error while firing Camel event [{}] to CDI observers", event, cause);
+                }
+            }
+        } catch (InterruptedException cause) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fire(EventObject event) {
+        Function<EventObject, Route> route = ROUTE_EVENTS.get(event.getClass());
+        String id = route != null ? route.apply(event).getId() : null;
 
         if (isNotEmpty(id)) {
-            List<Annotation> annotations = new ArrayList<>();
-            Collections.addAll(annotations, qualifiers);
-            annotations.add(NamedLiteral.of(id));
-            manager.fireEvent(event, annotations.stream().toArray(Annotation[]::new));
+            manager.fireEvent(event, routeQualifiers.computeIfAbsent(id, this::routeQualifiers));
+            if (event instanceof RouteRemovedEvent)
+                routeQualifiers.remove(id);
         } else {
             manager.fireEvent(event, qualifiers);
         }
     }
 
+    private Annotation[] routeQualifiers(String id) {
+        Annotation[] annotations = Arrays.copyOf(qualifiers, qualifiers.length + 1);
+        annotations[qualifiers.length] = NamedLiteral.of(id);
+        return annotations;
+    }
+
     @Override
     public boolean isEnabled(EventObject event) {
-        return true;
+        return enabled.get(event.getClass());
     }
 }
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+/**
+ * The policy applied when a CDI event is fired while the bounded queue of an asynchronous
+ * {@link CdiEventEndpoint} consumer, or the bounded buffer of a subscriber to its publisher, is full.
+ *
+ * @see CdiEventEndpoint#setOverflowPolicy(CdiEventOverflowPolicy)
+ */
+public enum CdiEventOverflowPolicy {
+
+    /**
+     * Blocks the thread firing the event until room becomes available in the queue.
+     */
+    Block,
+
+    /**
+     * Discards the event being fired.
+     */
+    DropNewest,
+
+    /**
+     * Discards the oldest event in the queue to make room for the event being fired.
+     */
+    DropOldest,
+
+    /**
+     * Rejects the event being fired by throwing a {@link java.util.concurrent.RejectedExecutionException}
+     * to the thread firing the event, or, for a subscriber, by terminating its subscription with that exception.
+     */
+    Fail
+}
@@ -16,29 +16,140 @@
  */
 package org.apache.camel.cdi;
 
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
-import org.apache.camel.impl.DefaultProducer;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultAsyncProducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.event.Event;
+import javax.enterprise.event.NotificationOptions;
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
-final class CdiEventProducer<T> extends DefaultProducer {
+import static org.apache.camel.cdi.CdiEventEndpoint.EVENT_FIRED_COUNT;
+import static org.apache.camel.cdi.CdiSpiHelper.getRawType;
+
+final class CdiEventProducer<T> extends DefaultAsyncProducer {
 
     private final Logger logger = LoggerFactory.getLogger(CdiEventProducer.class);
 
     private final Event<T> event;
 
+    private final boolean fireAsync;
+
+    private final boolean bulk;
+
+    private final NotificationOptions options;
+
+    private final Class<?> type;
+
+    // The type converters from the body types to the endpoint raw type
+    private final ConcurrentMap<Class<?>, TypeConverter> converters = new ConcurrentHashMap<>();
+
     CdiEventProducer(CdiEventEndpoint<T> endpoint, Event<T> event) {
         super(endpoint);
         this.event = event;
+        this.type = getRawType(endpoint.getType());
+        this.fireAsync = endpoint.isFireAsync();
+        this.bulk = endpoint.isBulk();
+        this.options = endpoint.getNotificationExecutor() != null
+            ? NotificationOptions.ofExecutor(endpoint.getNotificationExecutor())
+            : null;
     }
 
     @Override
-    public void process(Exchange exchange) {
+    public boolean process(Exchange exchange, AsyncCallback callback) {
         logger.debug("Firing CDI event [{}] with {}", event, this);
-        // TODO: leverage Camel type converter mechanism based on the endpoint type
-        // The EventMetadata injection point will be that of the event which is not very useful for the end user. Using BeanManager.fire would be a way to hide that internal though it will be necessary to check whether the exchange event type is assignable to the endpoint event type.
-        event.fire((T) exchange.getIn().getBody());
+        // The EventMetadata injection point will be that of the event which is not very useful for the end user.
+        // Using BeanManager.fireEvent would hide that internal though the event type would then be the runtime type
+        // of the payload, losing the type arguments of parameterized endpoint types.
+
+        // The number of events fired asynchronously whose notification is pending,
+        // plus one until all the events have been fired
+        AtomicInteger pending = fireAsync ? new AtomicInteger(1) : null;
+        Object body = exchange.getIn().getBody();
+        try {
+            if (bulk && body != null && !type.isInstance(body) && isBulk(body))
+                exchange.getIn().setHeader(EVENT_FIRED_COUNT, fireAll(body, exchange, pending, callback));
+            else
+                fire(body, exchange, pending, callback);
+        } catch (Exception cause) {
+            exchange.setException(cause);
+        }
+
+        if (pending == null || pending.decrementAndGet() == 0) {
+            callback.done(true);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isBulk(Object body) {
+        return body instanceof Iterable || body instanceof Stream || body.getClass().isArray();
+    }
+
+    private int fireAll(Object body, Exchange exchange, AtomicInteger pending, AsyncCallback callback) throws NoTypeConversionAvailableException {
+        int fired = 0;
+        if (body instanceof Iterable) {
+            for (Object element : (Iterable<?>) body) {
+                fire(element, exchange, pending, callback);
+                fired++;
+            }
+        } else if (body instanceof Stream) {
+            try (Stream<?> stream = (Stream<?>) body) {
+                Iterator<?> elements = stream.iterator();
+                while (elements.hasNext()) {
+                    fire(elements.next(), exchange, pending, callback);
+                    fired++;
+                }
+            }
+        } else {
+            int length = Array.getLength(body);
+            for (; fired < length; fired++)
+                fire(Array.get(body, fired), exchange, pending, callback);
+        }
+        return fired;
+    }
+
+    private void fire(Object body, Exchange exchange, AtomicInteger pending, AsyncCallback callback) throws NoTypeConversionAvailableException {
+        T payload = payload(body, exchange);
+        if (pending == null) {
+            event.fire(payload);
+            return;
+        }
+
+        CompletionStage<T> notification = options != null
+            ? event.fireAsync(payload, options)
+            : event.fireAsync(payload);
+        pending.incrementAndGet();
+        notification.whenComplete((result, cause) -> {
+            if (cause != null)
+                exchange.setException(cause);
+            if (pending.decrementAndGet() == 0)
+                callback.done(false);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private T payload(Object body, Exchange exchange) throws NoTypeConversionAvailableException {
+        if (body == null || type.isInstance(body))
+            return (T) body;
+
+        TypeConverter converter = converters.computeIfAbsent(body.getClass(), this::converter);
+        return (T) converter.mandatoryConvertTo(type, exchange, body);
+    }
+
+    private TypeConverter converter(Class<?> from) {
+        TypeConverter converter = getEndpoint().getCamelContext().getTypeConverterRegistry().lookup(type, from);
+        // Fallback converters are only taken into account by the Camel context type converter
+        return converter != null ? converter : getEndpoint().getCamelContext().getTypeConverter();
     }
 }
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import javax.enterprise.inject.Vetoed;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A Reactive Streams {@link Publisher} of the CDI events observed by a {@link CdiEventEndpoint}, e.g.:
+ * <pre><code>
+ * {@literal @}Inject
+ *  CdiEventEndpoint{@literal <}String{@literal >} cdiEventEndpoint;
+ *
+ *  Flowable.fromPublisher(CdiEventPublisher.of(cdiEventEndpoint)).subscribe(event -{@literal >} logger.info("CDI event: {}", event));
+ * </code></pre>
+ *
+ * Each subscriber gets its own bounded buffer, sized and with the overflow policy of the endpoint, that's drained
+ * according to the demand it signals, so that a slow subscriber throttles the threads firing the events, or has the
+ * events dropped or gets failed with a {@link java.util.concurrent.RejectedExecutionException}, rather than having
+ * the events accumulate without bound. The subscribers get completed when the endpoint is stopped.
+ * <p>
+ * The Reactive Streams API is an optional dependency that's only required by that class, and not by
+ * {@link CdiEventEndpoint}, so that the endpoint can be used, and introspected, without it.
+ */
+@Vetoed
+public final class CdiEventPublisher<T> implements Publisher<T> {
+
+    private final CdiEventEndpoint<T> endpoint;
+
+    private CdiEventPublisher(CdiEventEndpoint<T> endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Returns a publisher of the CDI events observed by the given endpoint.
+     */
+    public static <T> Publisher<T> of(CdiEventEndpoint<T> endpoint) {
+        return new CdiEventPublisher<>(requireNonNull(endpoint));
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        CdiEventSubscription<T> subscription = new CdiEventSubscription<>(endpoint, requireNonNull(subscriber));
+        // Added before the subscriber gets notified so that no events are missed once it requests some
+        endpoint.getSubscriptions().add(subscription);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+}
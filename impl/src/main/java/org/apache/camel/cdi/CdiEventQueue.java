@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.Exchange;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The bounded queue that hands off the CDI events from the firing threads to the threads
+ * of an asynchronous {@link CdiEventConsumer}.
+ */
+final class CdiEventQueue {
+
+    // The entry that stops the thread that takes it, or wakes it up if it's waiting for an event
+    private static final Entry STOP = new Entry(null);
+
+    private final BlockingQueue<Entry> queue;
+
+    private final CdiEventOverflowPolicy policy;
+
+    private final AtomicInteger stops = new AtomicInteger();
+
+    // Set once the queue is closed, so that the draining threads complete once it is empty
+    // even if a stop entry got dropped by the DropOldest policy
+    private volatile boolean closed;
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder processed = new LongAdder();
+
+    private final LongAdder totalLatency = new LongAdder();
+
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0L);
+
+    CdiEventQueue(int capacity, CdiEventOverflowPolicy policy) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+    }
+
+    void offer(Exchange exchange) {
+        Entry entry = new Entry(exchange);
+        switch (policy) {
+            case Block:
+                try {
+                    queue.put(entry);
+                } catch (InterruptedException cause) {
+                    rejected.increment();
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case DropNewest:
+                if (!queue.offer(entry))
+                    rejected.increment();
+                break;
+            case DropOldest:
+                while (!queue.offer(entry)) {
+                    Entry oldest = queue.poll();
+                    if (oldest == STOP)
+                        stops.decrementAndGet();
+                    else if (oldest != null)
+                        rejected.increment();
+                }
+                break;
+            case Fail:
+                if (!queue.offer(entry)) {
+                    rejected.increment();
+                    throw new RejectedExecutionException("CDI event queue is full (capacity: " + (queue.size() + queue.remainingCapacity()) + ")");
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unsupported overflow policy [" + policy + "]");
+        }
+    }
+
+    /**
+     * Takes and processes the queued events until the calling thread gets interrupted, takes one
+     * of the stop entries queued by {@link #close(int)} or finds the queue empty once it is closed.
+     */
+    void drain(Consumer<Exchange> processor) {
+        while (!Thread.currentThread().isInterrupted()) {
+            Entry entry;
+            try {
+                entry = closed ? queue.poll() : queue.take();
+            } catch (InterruptedException cause) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (entry == null)
+                return;
+            if (entry == STOP) {
+                stops.decrementAndGet();
+                return;
+            }
+            processor.accept(entry.exchange);
+            long latency = System.nanoTime() - entry.enqueued;
+            processed.increment();
+            totalLatency.add(latency);
+            maxLatency.accumulate(latency);
+        }
+    }
+
+    /**
+     * Queues a stop entry for each of the draining threads, after the events already queued,
+     * so that these threads complete once they have processed these events.
+     */
+    void close(int threads) throws InterruptedException {
+        closed = true;
+        for (int i = 0; i < threads; i++) {
+            stops.incrementAndGet();
+            queue.put(STOP);
+        }
+    }
+
+    int size() {
+        // Do not count the stop entries
+        return Math.max(0, queue.size() - stops.get());
+    }
+
+    long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * Returns the cumulated time in nanoseconds between the events being queued and their processing completion.
+     */
+    long getTotalLatency() {
+        return totalLatency.sum();
+    }
+
+    /**
+     * Returns the maximum time in milliseconds between an event being queued and its processing completion.
+     */
+    long getMaxLatency() {
+        return NANOSECONDS.toMillis(maxLatency.get());
+    }
+
+    private static final class Entry {
+
+        private final Exchange exchange;
+
+        private final long enqueued = System.nanoTime();
+
+        private Entry(Exchange exchange) {
+            this.exchange = exchange;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.CamelContext;
+
+import java.util.EventObject;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.camel.util.ObjectHelper.wrapRuntimeCamelException;
+
+/**
+ * The policy used to sample the Camel events of a given type before they get fired to the CDI observers,
+ * so that high-rate events, like exchange events, can be observed at a fraction of their cost.
+ *
+ * @see CdiCamelConfiguration#eventSampling(Class, CdiEventSampling)
+ */
+public final class CdiEventSampling {
+
+    private enum Kind {
+        EveryNth, PerSecond, Reservoir
+    }
+
+    private final Kind kind;
+
+    private final long value;
+
+    private final long window;
+
+    // The property placeholder the value gets resolved from for each Camel context, if any
+    private final String placeholder;
+
+    private CdiEventSampling(Kind kind, long value, long window) {
+        this(kind, value, window, null);
+    }
+
+    private CdiEventSampling(Kind kind, long value, long window, String placeholder) {
+        this.kind = kind;
+        this.value = value;
+        this.window = window;
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Samples one event every {@code n} events.
+     */
+    public static CdiEventSampling everyNth(long n) {
+        if (n < 1)
+            throw new IllegalArgumentException("Sampling interval must be strictly positive, was [" + n + "]");
+        return new CdiEventSampling(Kind.EveryNth, n, 0L);
+    }
+
+    /**
+     * Samples the first {@code rate} events of every second.
+     */
+    public static CdiEventSampling perSecond(long rate) {
+        if (rate < 1)
+            throw new IllegalArgumentException("Sampling rate must be strictly positive, was [" + rate + "]");
+        return new CdiEventSampling(Kind.PerSecond, rate, 0L);
+    }
+
+    /**
+     * Samples the first events of every second, up to the rate resolved from the given property
+     * placeholder, e.g. {@code {{events.sampling.rate}}}, by each Camel context, so that the rate
+     * can be configured with the Camel properties rather than in code.
+     */
+    public static CdiEventSampling perSecond(String rate) {
+        return new CdiEventSampling(Kind.PerSecond, 0L, 0L, requireNonNull(rate));
+    }
+
+    /**
+     * Samples {@code size} events uniformly at random out of the events of every window of {@code window}
+     * milliseconds. The sampled events get fired at the end of each window.
+     */
+    public static CdiEventSampling reservoir(int size, long window) {
+        if (size < 1)
+            throw new IllegalArgumentException("Reservoir size must be strictly positive, was [" + size + "]");
+        if (window < 1)
+            throw new IllegalArgumentException("Reservoir window must be strictly positive, was [" + window + "]");
+        return new CdiEventSampling(Kind.Reservoir, size, window);
+    }
+
+    /**
+     * Returns the window in milliseconds at the end of which the sampled events get fired,
+     * or {@code 0} if they are fired as they get sampled.
+     */
+    long getWindow() {
+        return window;
+    }
+
+    Sampler newSampler(CamelContext context) {
+        switch (kind) {
+            case EveryNth:
+                return new EveryNthSampler(value);
+            case PerSecond:
+                return new PerSecondSampler(placeholder != null ? resolveRate(context) : value);
+            case Reservoir:
+                return new ReservoirSampler((int) value);
+            default:
+                throw new IllegalStateException("Unsupported sampling [" + kind + "]");
+        }
+    }
+
+    private long resolveRate(CamelContext context) {
+        long rate;
+        try {
+            rate = Long.parseLong(context.resolvePropertyPlaceholders(placeholder).trim());
+        } catch (Exception cause) {
+            throw wrapRuntimeCamelException(cause);
+        }
+        if (rate < 1)
+            throw new IllegalArgumentException("Sampling rate must be strictly positive, was [" + rate + "] for [" + placeholder + "]");
+        return rate;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "[" + (placeholder != null ? placeholder : value) + (window > 0 ? ", " + window + "ms" : "") + "]";
+    }
+
+    /**
+     * The stateful sampler of the events of a given type.
+     */
+    abstract static class Sampler {
+
+        /**
+         * Offers the event to the sampler that passes it to the consumer if it is sampled.
+         */
+        abstract void offer(EventObject event, Consumer<EventObject> consumer);
+
+        /**
+         * Passes the events sampled so far to the consumer, for the samplers that defer them.
+         */
+        void flush(Consumer<EventObject> consumer) {
+        }
+
+        /**
+         * Returns the ratio of sampled events over the events offered, so that the actual
+         * number of events can be extrapolated from the sampled ones.
+         */
+        abstract double getRate();
+    }
+
+    private static final class EveryNthSampler extends Sampler {
+
+        private final long n;
+
+        private final AtomicLong count = new AtomicLong();
+
+        EveryNthSampler(long n) {
+            this.n = n;
+        }
+
+        @Override
+        void offer(EventObject event, Consumer<EventObject> consumer) {
+            if (count.getAndIncrement() % n == 0)
+                consumer.accept(event);
+        }
+
+        @Override
+        double getRate() {
+            return 1d / n;
+        }
+    }
+
+    private static final class PerSecondSampler extends Sampler {
+
+        private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+        private final long rate;
+
+        // The current second in the high 32 bits and the number of events offered during that second
+        // in the low 32 bits, so that the window gets reset and the event counted by a single CAS
+        private final AtomicLong state = new AtomicLong((long) second() << 32);
+
+        private volatile double applied = 1d;
+
+        PerSecondSampler(long rate) {
+            this.rate = rate;
+        }
+
+        private static int second() {
+            return (int) (System.nanoTime() / 1_000_000_000L);
+        }
+
+        @Override
+        void offer(EventObject event, Consumer<EventObject> consumer) {
+            int now = second();
+            long current;
+            int window;
+            long count;
+            do {
+                current = state.get();
+                window = (int) (current >>> 32);
+                count = window == now ? Math.min((current & COUNT_MASK) + 1, COUNT_MASK) : 1L;
+            } while (!state.compareAndSet(current, (long) now << 32 | count));
+
+            // Only the thread that moved the window computes the rate applied over the previous one,
+            // or the full rate if it was idle
+            if (window != now) {
+                long previous = current & COUNT_MASK;
+                applied = window + 1 == now && previous > rate ? (double) rate / previous : 1d;
+            }
+            if (count <= rate)
+                consumer.accept(event);
+        }
+
+        @Override
+        double getRate() {
+            return applied;
+        }
+    }
+
+    private static final class ReservoirSampler extends Sampler {
+
+        private final int size;
+
+        private EventObject[] reservoir;
+
+        private long offered;
+
+        private volatile double applied = 1d;
+
+        ReservoirSampler(int size) {
+            this.size = size;
+            this.reservoir = new EventObject[size];
+        }
+
+        @Override
+        synchronized void offer(EventObject event, Consumer<EventObject> consumer) {
+            // Algorithm R
+            if (offered < size) {
+                reservoir[(int) offered] = event;
+            } else {
+                long index = ThreadLocalRandom.current().nextLong(offered + 1);
+                if (index < size)
+                    reservoir[(int) index] = event;
+            }
+            offered++;
+        }
+
+        @Override
+        void flush(Consumer<EventObject> consumer) {
+            EventObject[] events;
+            int count;
+            synchronized (this) {
+                events = reservoir;
+                count = (int) Math.min(offered, size);
+                applied = offered > size ? (double) size / offered : 1d;
+                reservoir = new EventObject[size];
+                offered = 0L;
+            }
+            for (int i = 0; i < count; i++)
+                consumer.accept(events[i]);
+        }
+
+        @Override
+        double getRate() {
+            return applied;
+        }
+    }
+}
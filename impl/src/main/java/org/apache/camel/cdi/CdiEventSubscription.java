@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link Subscription} of a {@link Subscriber} to the {@link CdiEventPublisher publisher} of
+ * a {@link CdiEventEndpoint}. The CDI events are buffered into a bounded queue, sized and with the overflow
+ * policy of the endpoint, and drained as the subscriber signals demand, by whichever thread happens to fire
+ * an event or to request more of them.
+ */
+final class CdiEventSubscription<T> implements Subscription {
+
+    private final Logger logger = LoggerFactory.getLogger(CdiEventSubscription.class);
+
+    private final CdiEventEndpoint<T> endpoint;
+
+    private final Subscriber<? super T> subscriber;
+
+    private final BlockingQueue<T> buffer;
+
+    private final CdiEventOverflowPolicy policy;
+
+    private final AtomicLong requested = new AtomicLong();
+
+    // The number of pending drain requests, the thread that increments it from zero performs the drain.
+    // Held by the subscribing thread until the subscriber is set up, see #start()
+    private final AtomicInteger wip = new AtomicInteger(1);
+
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean done;
+
+    private volatile boolean cancelled;
+
+    private volatile Throwable error;
+
+    CdiEventSubscription(CdiEventEndpoint<T> endpoint, Subscriber<? super T> subscriber) {
+        this.endpoint = endpoint;
+        this.subscriber = subscriber;
+        this.buffer = new ArrayBlockingQueue<>(endpoint.getQueueSize());
+        this.policy = endpoint.getOverflowPolicy();
+    }
+
+    void offer(T event) {
+        if (done)
+            return;
+
+        switch (policy) {
+            case Block:
+                try {
+                    buffer.put(event);
+                } catch (InterruptedException cause) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                break;
+            case DropNewest:
+                if (!buffer.offer(event))
+                    rejected.increment();
+                break;
+            case DropOldest:
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null)
+                        rejected.increment();
+                }
+                break;
+            case Fail:
+                if (!buffer.offer(event)) {
+                    rejected.increment();
+                    error(new RejectedExecutionException("Buffer of subscriber [" + subscriber + "] is full"));
+                    return;
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unsupported overflow policy [" + policy + "]");
+        }
+        drain();
+    }
+
+    void complete() {
+        done = true;
+        drain();
+    }
+
+    private void error(Throwable cause) {
+        error = cause;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0L) {
+            error(new IllegalArgumentException("Requested number of events must be strictly positive, was [" + n + "]"));
+            return;
+        }
+        long current, next;
+        do {
+            current = requested.get();
+            next = current + n < 0L ? Long.MAX_VALUE : current + n;
+        } while (!requested.compareAndSet(current, next));
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled)
+            return;
+        cancelled = true;
+        endpoint.getSubscriptions().remove(this);
+        // Releases the threads blocked firing events, if any
+        buffer.clear();
+    }
+
+    int size() {
+        return buffer.size();
+    }
+
+    long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Performs the drain requested while the subscriber was being set up, once {@link Subscriber#onSubscribe(Subscription)}
+     * has returned, so that no event gets delivered concurrently to the set up of the subscriber.
+     */
+    void start() {
+        drainLoop();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0)
+            return;
+        drainLoop();
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            long demand = requested.get();
+            long emitted = 0L;
+            while (emitted != demand) {
+                if (terminated())
+                    return;
+                T event = buffer.poll();
+                if (event == null)
+                    break;
+                try {
+                    subscriber.onNext(event);
+                } catch (RuntimeException cause) {
+                    // The subscriber violated the rule 2.13, consider the subscription cancelled
+                    // rather than failing the thread that fires the event or requests more of them
+                    cancel();
+                    logger.warn("Cancelling subscription of [{}] that failed processing CDI event [{}]", subscriber, event, cause);
+                    return;
+                }
+                emitted++;
+            }
+            if (terminated())
+                return;
+            if (done && buffer.isEmpty()) {
+                cancel();
+                subscriber.onComplete();
+                return;
+            }
+            if (emitted != 0L && demand != Long.MAX_VALUE)
+                requested.addAndGet(-emitted);
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private boolean terminated() {
+        if (cancelled)
+            return true;
+        Throwable error = this.error;
+        if (error != null) {
+            cancel();
+            subscriber.onError(error);
+            return true;
+        }
+        return false;
+    }
+}
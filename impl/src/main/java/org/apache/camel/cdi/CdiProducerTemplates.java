@@ -0,0 +1,427 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.FluentProducerTemplate;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.CamelContextHelper;
+import org.apache.camel.util.ServiceHelper;
+
+import javax.enterprise.inject.Vetoed;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.apache.camel.util.ObjectHelper.wrapCamelExecutionException;
+import static org.apache.camel.util.ObjectHelper.wrapRuntimeCamelException;
+
+/**
+ * The pool of the producer templates injected for a Camel context, shared per endpoint URI and maximum cache size,
+ * as producer templates are thread-safe, so that each injection does not create and start a new template with its
+ * own producer cache. The templates get stopped when the Camel context stops.
+ * <p>
+ * Each injection point gets its own proxy that delegates to the shared template, resolved again once the Camel
+ * context has been restarted, and that ignores the stop calls. When an injection point changes its settings, e.g.
+ * its default endpoint, its proxy creates a template of its own, as done when templates were not shared, so that
+ * an injection point cannot affect the others.
+ * <p>
+ * As fluent producer templates are stateful, the injected fluent templates do not hold any state. Each of their
+ * builder methods starts a new call, whose state is held by the fluent template it returns, and whose completing
+ * {@code request} or {@code send} method sends through the producer template of the injection point, so that all
+ * the calls share the producer cache of the shared template and no state is left behind by a call, completed or not.
+ */
+@Vetoed
+@ManagedResource(description = "Managed CdiProducerTemplates")
+final class CdiProducerTemplates extends ServiceSupport {
+
+    // The methods that start or complete the call of a fluent producer template
+    private static final Set<String> CALLS = new HashSet<>(Arrays.asList("withHeader", "clearHeaders", "withBody", "withBodyAs",
+        "clearBody", "clearAll", "withTemplateCustomizer", "withExchange", "withProcessor", "to",
+        "request", "asyncRequest", "send", "asyncSend"));
+
+    // The methods of the shared producer templates that are ignored
+    private static final Set<String> IGNORED = new HashSet<>(Arrays.asList("stop", "shutdown"));
+
+    // The methods of the shared producer templates that would affect the other injection points
+    private static final Set<String> SETTERS = new HashSet<>(Arrays.asList("setDefaultEndpoint", "setDefaultEndpointUri",
+        "setMaximumCacheSize", "setEventNotifierEnabled"));
+
+    private final CamelContext context;
+
+    private final ConcurrentMap<Key, ProducerTemplate> templates = new ConcurrentHashMap<>();
+
+    CdiProducerTemplates(CamelContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Returns a template, for a single injection point, whose default endpoint has the given URI, or that has
+     * no default endpoint if the URI is {@code null}.
+     */
+    ProducerTemplate getProducerTemplate(String uri) {
+        Key key = new Key(uri, CamelContextHelper.getMaximumCachePoolSize(context));
+        // Resolve the shared template eagerly so that invalid URIs fail the injection
+        sharedTemplate(key);
+        return (ProducerTemplate) Proxy.newProxyInstance(ProducerTemplate.class.getClassLoader(),
+            new Class<?>[] {ProducerTemplate.class}, new SharedTemplate(key));
+    }
+
+    private ProducerTemplate sharedTemplate(Key key) {
+        ProducerTemplate template = templates.get(key);
+        if (template != null)
+            return template;
+
+        restartIfStopped();
+        // The endpoint resolution may trigger the injection of another template, hence not computeIfAbsent
+        ProducerTemplate shared = createTemplate(key);
+        ProducerTemplate previous = templates.putIfAbsent(key, shared);
+        if (previous != null) {
+            ServiceHelper.stopService(shared);
+            return previous;
+        }
+        return shared;
+    }
+
+    private ProducerTemplate createTemplate(Key key) {
+        ProducerTemplate template = context.createProducerTemplate(key.cacheSize);
+        if (key.uri != null)
+            template.setDefaultEndpoint(context.getEndpoint(key.uri, Endpoint.class));
+        return template;
+    }
+
+    private synchronized void restartIfStopped() {
+        // The Camel context removes its services when it stops, so that it does not restart them
+        if (isStopped() && context.getStatus().isStarted()) {
+            try {
+                context.addService(this);
+            } catch (Exception cause) {
+                throw wrapRuntimeCamelException(cause);
+            }
+        }
+    }
+
+    /**
+     * Returns a thread-safe fluent template, for a single injection point, whose default endpoint has the
+     * given URI, or that has no default endpoint if the URI is {@code null}.
+     */
+    FluentProducerTemplate getFluentProducerTemplate(String uri) {
+        return (FluentProducerTemplate) Proxy.newProxyInstance(FluentProducerTemplate.class.getClassLoader(),
+            new Class<?>[] {FluentProducerTemplate.class}, new SharedFluentTemplate(getProducerTemplate(uri)));
+    }
+
+    /**
+     * Returns the number of producer templates pooled.
+     */
+    @ManagedAttribute(description = "Number of producer templates pooled")
+    public int getProducerTemplates() {
+        return templates.size();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        List<ProducerTemplate> stopped = new ArrayList<>(templates.values());
+        templates.clear();
+        ServiceHelper.stopServices(stopped);
+    }
+
+    private final class SharedTemplate implements InvocationHandler {
+
+        private final Key key;
+
+        // The template of that injection point only, once its settings have been changed
+        private volatile ProducerTemplate owned;
+
+        SharedTemplate(Key key) {
+            this.key = key;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class)
+                return invokeObjectMethod(proxy, method, args, "SharedProducerTemplate[" + (key.uri != null ? key.uri : "") + "]");
+
+            String name = method.getName();
+            ProducerTemplate template = owned;
+            if (template == null) {
+                // The shared template is stopped along with the Camel context
+                if (IGNORED.contains(name))
+                    return null;
+                template = SETTERS.contains(name) ? own() : sharedTemplate(key);
+            }
+            try {
+                return method.invoke(template, args);
+            } catch (InvocationTargetException cause) {
+                throw cause.getCause();
+            }
+        }
+
+        private synchronized ProducerTemplate own() {
+            // That template is left to the injection point, as when templates were not shared
+            if (owned == null)
+                owned = createTemplate(key);
+            return owned;
+        }
+    }
+
+    private static final class SharedFluentTemplate implements InvocationHandler {
+
+        // The producer template of the injection point, that holds its settings
+        private final ProducerTemplate template;
+
+        SharedFluentTemplate(ProducerTemplate template) {
+            this.template = template;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class)
+                return invokeObjectMethod(proxy, method, args, "SharedFluentProducerTemplate[" + template + "]");
+
+            if (CALLS.contains(method.getName())) {
+                FluentCall call = new FluentCall(template);
+                Object state = Proxy.newProxyInstance(FluentProducerTemplate.class.getClassLoader(),
+                    new Class<?>[] {FluentProducerTemplate.class}, call);
+                return call.invoke(state, method, args);
+            }
+
+            return invokeTemplateMethod(proxy, template, method, args);
+        }
+    }
+
+    /**
+     * The state of a single call of a shared fluent producer template.
+     */
+    private static final class FluentCall implements InvocationHandler {
+
+        private final ProducerTemplate template;
+
+        private Map<String, Object> headers;
+
+        private Object body;
+
+        private Endpoint endpoint;
+
+        private Supplier<Processor> processorSupplier;
+
+        private Supplier<Exchange> exchangeSupplier;
+
+        private Consumer<ProducerTemplate> templateCustomizer;
+
+        FluentCall(ProducerTemplate template) {
+            this.template = template;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class)
+                return invokeObjectMethod(proxy, method, args, "FluentProducerTemplateCall[" + template + "]");
+
+            switch (method.getName()) {
+                case "withHeader":
+                    if (headers == null)
+                        headers = new LinkedHashMap<>();
+                    headers.put((String) args[0], args[1]);
+                    return proxy;
+                case "clearHeaders":
+                    headers = null;
+                    return proxy;
+                case "withBody":
+                    body = args[0];
+                    return proxy;
+                case "withBodyAs":
+                    Class<?> type = (Class<?>) args[1];
+                    body = type != null ? template.getCamelContext().getTypeConverter().convertTo(type, args[0]) : args[0];
+                    return proxy;
+                case "clearBody":
+                    body = null;
+                    return proxy;
+                case "clearAll":
+                    headers = null;
+                    body = null;
+                    endpoint = null;
+                    processorSupplier = null;
+                    exchangeSupplier = null;
+                    templateCustomizer = null;
+                    return proxy;
+                case "withTemplateCustomizer":
+                    templateCustomizer = (Consumer<ProducerTemplate>) args[0];
+                    return proxy;
+                case "withExchange":
+                    exchangeSupplier = args[0] instanceof Exchange ? () -> (Exchange) args[0] : (Supplier<Exchange>) args[0];
+                    return proxy;
+                case "withProcessor":
+                    processorSupplier = args[0] instanceof Processor ? () -> (Processor) args[0] : (Supplier<Processor>) args[0];
+                    return proxy;
+                case "to":
+                    endpoint = args[0] instanceof Endpoint ? (Endpoint) args[0]
+                        : template.getCamelContext().getEndpoint((String) args[0], Endpoint.class);
+                    return proxy;
+                case "request":
+                case "asyncRequest":
+                case "send":
+                case "asyncSend":
+                    return call(method.getName(), args != null && args.length > 0 ? (Class<?>) args[0] : Object.class);
+                default:
+                    return invokeTemplateMethod(proxy, template, method, args);
+            }
+        }
+
+        private Object call(String name, Class<?> type) {
+            Endpoint target = endpoint != null ? endpoint : template.getDefaultEndpoint();
+            if (target == null)
+                throw new IllegalArgumentException("No endpoint configured on FluentProducerTemplate. You can configure an endpoint with to(uri)");
+
+            if (templateCustomizer == null)
+                return call(name, type, template, target);
+
+            // A customized call cannot use the shared template, it's sent through a template of its own
+            ProducerTemplate customized = template.getCamelContext().createProducerTemplate(template.getMaximumCacheSize());
+            templateCustomizer.accept(customized);
+            if (name.startsWith("async"))
+                // Left to the caller as long as the call is pending, as when fluent templates were not shared
+                return call(name, type, customized, target);
+            try {
+                return call(name, type, customized, target);
+            } finally {
+                ServiceHelper.stopService(customized);
+            }
+        }
+
+        private Object call(String name, Class<?> type, ProducerTemplate template, Endpoint target) {
+            switch (name) {
+                case "request":
+                    return request(type, template, target);
+                case "asyncRequest":
+                    return headers != null
+                        ? template.asyncRequestBodyAndHeaders(target, body, headers, type)
+                        : template.asyncRequestBody(target, body, type);
+                case "send":
+                    return exchangeSupplier != null
+                        ? template.send(target, exchangeSupplier.get())
+                        : template.send(target, processor());
+                default:
+                    return exchangeSupplier != null
+                        ? template.asyncSend(target, exchangeSupplier.get())
+                        : template.asyncSend(target, processor());
+            }
+        }
+
+        private Object request(Class<?> type, ProducerTemplate template, Endpoint target) {
+            if (type == Exchange.class)
+                return template.request(target, processor());
+            Exchange exchange = template.send(target, ExchangePattern.InOut, processor());
+            if (type == Message.class)
+                return exchange.hasOut() ? exchange.getOut() : exchange.getIn();
+            if (exchange.getException() != null)
+                throw wrapCamelExecutionException(exchange, exchange.getException());
+            Object result = exchange.hasOut() ? exchange.getOut().getBody() : exchange.getIn().getBody();
+            return template.getCamelContext().getTypeConverter().convertTo(type, exchange, result);
+        }
+
+        private Processor processor() {
+            if (processorSupplier != null)
+                return processorSupplier.get();
+            // The state of the call is not modified once completed
+            return exchange -> {
+                if (headers != null)
+                    exchange.getIn().getHeaders().putAll(headers);
+                if (body != null)
+                    exchange.getIn().setBody(body);
+            };
+        }
+    }
+
+    private static Object invokeTemplateMethod(Object proxy, ProducerTemplate template, Method method, Object[] args) throws Throwable {
+        // The settings and the lifecycle of a fluent template are those of the producer template of the injection point
+        Method delegate;
+        try {
+            delegate = ProducerTemplate.class.getMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException cause) {
+            throw new UnsupportedOperationException("Fluent producer template [" + proxy + "] does not support " + method.getName());
+        }
+        try {
+            return delegate.invoke(template, args);
+        } catch (InvocationTargetException cause) {
+            throw cause.getCause();
+        }
+    }
+
+    private static Object invokeObjectMethod(Object proxy, Method method, Object[] args, String description) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return description;
+        }
+    }
+
+    private static final class Key {
+
+        private final String uri;
+
+        private final int cacheSize;
+
+        Key(String uri, int cacheSize) {
+            this.uri = uri;
+            this.cacheSize = cacheSize;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object)
+                return true;
+            if (!(object instanceof Key))
+                return false;
+            Key key = (Key) object;
+            return cacheSize == key.cacheSize && Objects.equals(uri, key.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(uri) + cacheSize;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.function.Predicate;
+
+/**
+ * Declares the predicate the CDI events are filtered with by the {@link CdiEventEndpoint} injected into
+ * the annotated injection point. The predicate bean is resolved during the deployment and evaluated
+ * by the observer method of the endpoint, before any exchange gets created, e.g.:
+ * <pre><code>
+ * {@literal @}ApplicationScoped
+ *  class DomainEventFilter implements Predicate{@literal <}Object{@literal >} {
+ *
+ *      public boolean test(Object event) {
+ *          return event instanceof DomainEvent;
+ *      }
+ *  }
+ *
+ * {@literal @}Inject
+ * {@literal @}EventFilter(DomainEventFilter.class)
+ *  CdiEventEndpoint{@literal <}Object{@literal >} cdiEventEndpoint;
+ * </code></pre>
+ *
+ * As the injection points with the same event type and qualifiers share the same endpoint,
+ * they cannot declare different predicates.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})
+public @interface EventFilter {
+
+    /**
+     * Returns the class of the predicate bean the CDI events are filtered with.
+     */
+    Class<? extends Predicate> value();
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.spi.Injector;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+@RunWith(JUnit4.class)
+public class CdiCamelInjectorTest {
+
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    private final AtomicInteger delegations = new AtomicInteger();
+
+    private final Object instance = new Object();
+
+    private final Bean<?> bean = proxy(Bean.class, (method, args) -> {
+        switch (method) {
+            case "getScope":
+                return ApplicationScoped.class;
+            default:
+                throw new UnsupportedOperationException(method);
+        }
+    });
+
+    private final BeanManager manager = proxy(BeanManager.class, (method, args) -> {
+        switch (method) {
+            case "getBeans":
+                resolutions.incrementAndGet();
+                return args[0] == Object.class ? singleton(bean) : emptySet();
+            case "resolve":
+                Set<?> beans = (Set<?>) args[0];
+                return beans.isEmpty() ? null : beans.iterator().next();
+            case "createCreationalContext":
+                return proxy(CreationalContext.class, (name, parameters) -> null);
+            case "getReference":
+                return instance;
+            default:
+                throw new UnsupportedOperationException(method);
+        }
+    });
+
+    private final Injector delegate = new Injector() {
+        @Override
+        public <T> T newInstance(Class<T> type) {
+            delegations.incrementAndGet();
+            try {
+                return type.getConstructor().newInstance();
+            } catch (ReflectiveOperationException cause) {
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        @Override
+        public <T> T newInstance(Class<T> type, Object instance) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final CdiCamelInjector injector = new CdiCamelInjector(delegate, manager,
+        new CdiDependentReferences(manager, new CdiCamelConfigurationEvent()));
+
+    @Test
+    public void cacheBeanResolution() {
+        for (int i = 0; i < 10; i++)
+            assertThat("Bean instance is incorrect!", injector.newInstance(Object.class), is(sameInstance(instance)));
+
+        assertThat("Bean resolution not cached!", resolutions.get(), is(equalTo(1)));
+        assertThat("Bean instantiation delegated!", delegations.get(), is(equalTo(0)));
+    }
+
+    @Test
+    public void delegateNonBeanInstantiation() {
+        ArrayList<?> first = injector.newInstance(ArrayList.class);
+        ArrayList<?> second = injector.newInstance(ArrayList.class);
+
+        assertThat("Instance is incorrect!", first, is(instanceOf(ArrayList.class)));
+        assertThat("Instance is reused!", second, is(not(sameInstance(first))));
+        assertThat("Bean resolution not cached!", resolutions.get(), is(equalTo(1)));
+        assertThat("Instantiation not delegated!", delegations.get(), is(equalTo(2)));
+    }
+
+    private interface Handler {
+
+        Object invoke(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(CdiCamelInjectorTest.class.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> handler.invoke(method.getName(), args));
+    }
+}
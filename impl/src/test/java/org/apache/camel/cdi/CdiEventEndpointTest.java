@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(JUnit4.class)
+public class CdiEventEndpointTest {
+
+    @Test
+    public void introspectWithoutReactiveStreams() {
+        // The signatures get resolved on introspection, e.g. by JMX, and must not require the optional dependency
+        List<Class<?>> types = new ArrayList<>();
+        for (Method method : CdiEventEndpoint.class.getDeclaredMethods()) {
+            types.add(method.getReturnType());
+            types.addAll(asList(method.getParameterTypes()));
+        }
+        for (Constructor<?> constructor : CdiEventEndpoint.class.getDeclaredConstructors())
+            types.addAll(asList(constructor.getParameterTypes()));
+        for (Field field : CdiEventEndpoint.class.getDeclaredFields())
+            types.add(field.getType());
+
+        for (Class<?> type : types)
+            assertThat("Signature of CdiEventEndpoint requires Reactive Streams through [" + type.getName() + "]",
+                requiresReactiveStreams(type), is(false));
+    }
+
+    private static boolean requiresReactiveStreams(Class<?> type) {
+        if (type.isArray())
+            return requiresReactiveStreams(type.getComponentType());
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (current.getName().startsWith("org.reactivestreams."))
+                return true;
+            for (Class<?> contract : current.getInterfaces()) {
+                if (requiresReactiveStreams(contract))
+                    return true;
+            }
+        }
+        return false;
+    }
+}
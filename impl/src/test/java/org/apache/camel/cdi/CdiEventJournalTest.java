@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class CdiEventJournalTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replayUncommittedEventsAfterRestart() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (CdiEventJournal journal = journal(directory)) {
+            journal.append("foo");
+            journal.append("bar");
+            journal.append("baz");
+            assertThat("Event is incorrect!", journal.take(), is(equalTo("foo")));
+            journal.commit();
+            // Taken but not committed
+            assertThat("Event is incorrect!", journal.take(), is(equalTo("bar")));
+        }
+
+        try (CdiEventJournal journal = journal(directory)) {
+            assertThat("Replayed event is incorrect!", journal.take(), is(equalTo("bar")));
+            journal.commit();
+            assertThat("Replayed event is incorrect!", journal.take(), is(equalTo("baz")));
+            journal.commit();
+            journal.append("qux");
+            assertThat("Appended event is incorrect!", journal.take(), is(equalTo("qux")));
+        }
+    }
+
+    @Test
+    public void rollSegments() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        String padding = new String(new char[100]).replace('\0', '-');
+        try (CdiEventJournal journal = journal(directory)) {
+            for (int i = 0; i < 50; i++)
+                journal.append(i + padding);
+            assertThat("Segments not rolled over!", segments(directory), is(greaterThan(1)));
+
+            for (int i = 0; i < 50; i++) {
+                assertThat("Event is incorrect!", journal.take(), is(equalTo(i + padding)));
+                journal.commit();
+            }
+            // The segments behind the checkpoint slots get deleted
+            assertThat("Segments not deleted!", segments(directory), is(lessThanOrEqualTo(2)));
+        }
+
+        try (CdiEventJournal journal = journal(directory)) {
+            journal.append("foo");
+            assertThat("Event is incorrect!", journal.take(), is(equalTo("foo")));
+        }
+    }
+
+    @Test
+    public void skipCorruptedRecord() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (CdiEventJournal journal = journal(directory)) {
+            journal.append("foo");
+            journal.append("bar");
+
+            // Flip a byte of the content of the first record
+            try (FileChannel segment = FileChannel.open(directory.resolve(String.format("segment-%020d.journal", 0)), WRITE)) {
+                segment.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), 12);
+            }
+
+            try {
+                journal.take();
+                fail("No exception thrown!");
+            } catch (IOException cause) {
+                // The checksum of the record does not match its content
+            }
+            assertThat("Event is incorrect!", journal.take(), is(equalTo("bar")));
+        }
+    }
+
+    @Test
+    public void resumeFromPreviousCheckpointOnTornWrite() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (CdiEventJournal journal = journal(directory)) {
+            journal.append("foo");
+            journal.append("bar");
+            journal.append("baz");
+            journal.take();
+            journal.commit();
+            journal.take();
+            journal.commit();
+        }
+
+        // Corrupt the second slot, written by the last commit
+        try (FileChannel checkpoint = FileChannel.open(directory.resolve("checkpoint"), WRITE)) {
+            checkpoint.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF, (byte) 0xFF}), 16 + 8);
+        }
+
+        try (CdiEventJournal journal = journal(directory)) {
+            assertThat("Event is incorrect!", journal.take(), is(equalTo("bar")));
+            journal.commit();
+            assertThat("Event is incorrect!", journal.take(), is(equalTo("baz")));
+        }
+    }
+
+    private static CdiEventJournal journal(Path directory) throws IOException {
+        return new CdiEventJournal(directory, SEGMENT_SIZE, CdiEventJournalTest.class.getClassLoader());
+    }
+
+    private static int segments(Path directory) throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "segment-*.journal")) {
+            for (Path ignored : segments)
+                count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(JUnit4.class)
+public class CdiEventQueueTest {
+
+    @Test
+    public void completeDrainingWhenStopEntryIsDropped() throws Exception {
+        CdiEventQueue queue = new CdiEventQueue(1, CdiEventOverflowPolicy.DropOldest);
+        queue.close(1);
+
+        // The queue is full with the stop entry that gets dropped in favor of the event
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        queue.offer(exchange);
+
+        List<Exchange> processed = new CopyOnWriteArrayList<>();
+        Thread drainer = new Thread(() -> queue.drain(processed::add));
+        drainer.start();
+        drainer.join(2000L);
+
+        assertThat("Draining thread is still alive!", drainer.isAlive(), is(equalTo(false)));
+        assertThat("Processed events are incorrect!", processed, contains(exchange));
+        assertThat("Dropped stop entry counted as rejected event!", queue.getRejectedCount(), is(equalTo(0L)));
+        assertThat("Queue size is incorrect!", queue.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void dropOldestEvents() throws Exception {
+        CdiEventQueue queue = new CdiEventQueue(2, CdiEventOverflowPolicy.DropOldest);
+        DefaultCamelContext context = new DefaultCamelContext();
+        Exchange first = new DefaultExchange(context);
+        Exchange second = new DefaultExchange(context);
+        Exchange third = new DefaultExchange(context);
+        queue.offer(first);
+        queue.offer(second);
+        queue.offer(third);
+
+        List<Exchange> processed = new CopyOnWriteArrayList<>();
+        Thread drainer = new Thread(() -> queue.drain(processed::add));
+        drainer.start();
+        queue.close(1);
+        drainer.join(2000L);
+
+        assertThat("Draining thread is still alive!", drainer.isAlive(), is(equalTo(false)));
+        assertThat("Processed events are incorrect!", processed, contains(second, third));
+        assertThat("Rejected event count is incorrect!", queue.getRejectedCount(), is(equalTo(1L)));
+    }
+}
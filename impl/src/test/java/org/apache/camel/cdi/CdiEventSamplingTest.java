@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.cdi.CdiEventSampling.Sampler;
+import org.apache.camel.component.properties.PropertiesComponent;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+@RunWith(JUnit4.class)
+public class CdiEventSamplingTest {
+
+    private static final int RATE = 100;
+
+    @Test
+    public void samplePerSecondConcurrently() throws Exception {
+        Sampler sampler = CdiEventSampling.perSecond(RATE).newSampler(new DefaultCamelContext());
+        EventObject event = new EventObject(this);
+        AtomicInteger sampled = new AtomicInteger();
+
+        long start = System.nanoTime() / 1_000_000_000L;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++)
+                    sampler.offer(event, e -> sampled.incrementAndGet());
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads)
+            thread.join();
+        long end = System.nanoTime() / 1_000_000_000L;
+
+        // At most the rate for each of the seconds the offers spanned
+        assertThat("Sampled events exceed the rate!", (long) sampled.get(), is(lessThanOrEqualTo(RATE * (end - start + 1))));
+    }
+
+    @Test
+    public void resolvePerSecondRateFromProperties() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("events.sampling.rate", "2");
+        PropertiesComponent component = new PropertiesComponent();
+        component.setInitialProperties(properties);
+        CamelContext context = new DefaultCamelContext();
+        context.addComponent("properties", component);
+
+        Sampler sampler = CdiEventSampling.perSecond("{{events.sampling.rate}}").newSampler(context);
+        EventObject event = new EventObject(this);
+        AtomicInteger sampled = new AtomicInteger();
+
+        long start = System.nanoTime() / 1_000_000_000L;
+        for (int i = 0; i < 10; i++)
+            sampler.offer(event, e -> sampled.incrementAndGet());
+        long end = System.nanoTime() / 1_000_000_000L;
+
+        if (start == end)
+            assertThat("Sampled events are incorrect!", sampled.get(), is(equalTo(2)));
+        else
+            assertThat("Sampled events exceed the rate!", sampled.get(), is(lessThanOrEqualTo(4)));
+    }
+}
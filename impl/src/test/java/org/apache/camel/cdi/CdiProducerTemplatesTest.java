@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.cdi;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.FluentProducerTemplate;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.camel.component.mock.MockEndpoint.assertIsSatisfied;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class CdiProducerTemplatesTest {
+
+    private final CamelContext context = new DefaultCamelContext();
+
+    private final CdiProducerTemplates templates = new CdiProducerTemplates(context);
+
+    @Before
+    public void startContext() throws Exception {
+        context.addService(templates);
+        context.start();
+    }
+
+    @After
+    public void stopContext() throws Exception {
+        context.stop();
+    }
+
+    @Test
+    public void shareProducerTemplatePerUri() {
+        ProducerTemplate first = templates.getProducerTemplate("mock:outbound");
+        ProducerTemplate second = templates.getProducerTemplate("mock:outbound");
+        templates.getProducerTemplate("mock:other");
+
+        assertThat("Producer template handed out to several injection points!", second, is(not(sameInstance(first))));
+        assertThat("Producer template not shared per URI!", templates.getProducerTemplates(), is(equalTo(2)));
+    }
+
+    @Test
+    public void resolveSharedProducerTemplateAfterRestart() throws Exception {
+        ProducerTemplate template = templates.getProducerTemplate("mock:outbound");
+        MockEndpoint outbound = context.getEndpoint("mock:outbound", MockEndpoint.class);
+        template.sendBody("first");
+
+        context.stop();
+        assertThat("Shared producer template not stopped with the context!", templates.getProducerTemplates(), is(equalTo(0)));
+        context.start();
+
+        outbound = context.getEndpoint("mock:outbound", MockEndpoint.class);
+        outbound.expectedBodiesReceived("second");
+        template.sendBody("second");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+        assertThat("Shared producer template not created again!", templates.getProducerTemplates(), is(equalTo(1)));
+    }
+
+    @Test
+    public void isolateProducerTemplateSettings() throws Exception {
+        ProducerTemplate first = templates.getProducerTemplate("mock:outbound");
+        ProducerTemplate second = templates.getProducerTemplate("mock:outbound");
+        MockEndpoint outbound = context.getEndpoint("mock:outbound", MockEndpoint.class);
+        MockEndpoint other = context.getEndpoint("mock:other", MockEndpoint.class);
+        outbound.expectedBodiesReceived("second");
+        other.expectedBodiesReceived("first");
+
+        first.setDefaultEndpointUri("mock:other");
+        first.setEventNotifierEnabled(false);
+        first.sendBody("first");
+        second.sendBody("second");
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound, other);
+        assertThat("Default endpoint change leaked to another injection point!",
+            second.getDefaultEndpoint(), is(sameInstance(outbound)));
+        assertThat("Event notifier change leaked to another injection point!", second.isEventNotifierEnabled(), is(true));
+    }
+
+    @Test
+    public void shareProducerTemplateAcrossFluentCalls() throws Exception {
+        FluentProducerTemplate template = templates.getFluentProducerTemplate("mock:outbound");
+        MockEndpoint outbound = context.getEndpoint("mock:outbound", MockEndpoint.class);
+        // More concurrent calls than processors
+        int threads = 4 * Runtime.getRuntime().availableProcessors();
+        outbound.expectedMessageCount(threads * 10);
+
+        List<Thread> started = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String thread = "thread-" + i;
+            Thread sender = new Thread(() -> {
+                for (int j = 0; j < 10; j++)
+                    template.withHeader("thread", thread).withBody(thread).send();
+            });
+            sender.start();
+            started.add(sender);
+        }
+        for (Thread thread : started)
+            thread.join();
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+        outbound.getExchanges().forEach(exchange ->
+            assertThat("Body and header are mixed up!", exchange.getIn().getBody(), is(exchange.getIn().getHeader("thread"))));
+        assertThat("Producer template not shared by the fluent calls!", templates.getProducerTemplates(), is(equalTo(1)));
+    }
+
+    @Test
+    public void ignoreAbandonedFluentCall() throws Exception {
+        FluentProducerTemplate template = templates.getFluentProducerTemplate("mock:outbound");
+        MockEndpoint outbound = context.getEndpoint("mock:outbound", MockEndpoint.class);
+        outbound.expectedBodiesReceived("message");
+
+        // Never completed
+        template.withHeader("header", "abandoned").withBody("abandoned");
+        template.withBody("message").send();
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+        assertThat("Header of the abandoned call is set!", outbound.getExchanges().get(0).getIn().getHeader("header"), is(nullValue()));
+    }
+
+    @Test
+    public void doNotCarryOverFluentCallEndpoint() throws Exception {
+        FluentProducerTemplate template = templates.getFluentProducerTemplate(null);
+        MockEndpoint outbound = context.getEndpoint("mock:outbound", MockEndpoint.class);
+        outbound.expectedBodiesReceived("first");
+
+        template.to("mock:outbound").withBody("first").send();
+        try {
+            template.withBody("second").send();
+            fail("Endpoint of the previous call is carried over!");
+        } catch (IllegalArgumentException expected) {
+            // No endpoint set for that call
+        }
+
+        assertIsSatisfied(2L, TimeUnit.SECONDS, outbound);
+    }
+}